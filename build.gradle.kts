@@ -3,6 +3,7 @@ plugins {
     id("org.springframework.boot") version "3.5.11"
     id("io.spring.dependency-management") version "1.1.7"
     checkstyle
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "hexlet.code"
@@ -33,9 +34,19 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation ("org.springframework.boot:spring-boot-starter-data-jpa")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+
+    // Кэши в памяти
+    implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("com.github.ben-manes.caffeine:jcache")
+    implementation("org.hibernate.orm:hibernate-jcache")
 
     // База данных
     runtimeOnly("org.postgresql:postgresql")
+    implementation("org.flywaydb:flyway-core")
+    implementation("org.flywaydb:flyway-database-postgresql")
     implementation("com.h2database:h2:2.4.240")
 
     // Lombok
@@ -58,6 +69,9 @@ dependencies {
     // Тесты
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.security:spring-security-test")
+    testImplementation("org.springframework.boot:spring-boot-testcontainers")
+    testImplementation("org.testcontainers:junit-jupiter")
+    testImplementation("org.testcontainers:postgresql")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     implementation("net.datafaker:datafaker:2.5.4")
     implementation("org.instancio:instancio-junit:3.3.0")
@@ -65,4 +79,60 @@ dependencies {
 
 tasks.withType<Test> {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+// Нагрузочные сравнения не входят в обычный прогон тестов
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+tasks.register<Test>("benchmark") {
+    description = "Нагрузочные прогоны по REST API: VirtualThreadBenchmarkTest и ApiLoadTest"
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    systemProperties(System.getProperties()
+        .filterKeys { (it as String).startsWith("benchmark.") }
+        .mapKeys { it.key as String })
+    testLogging {
+        showStandardStreams = true
+    }
+    outputs.upToDateWhen { false }
+}
+
+// Микробенчмарки JMH из src/jmh: ./gradlew jmh, отдельный класс - ./gradlew jmh -PjmhIncludes=JwtBenchmark.
+// Результаты в JSON: <каталог>/latest.json и его копия по короткому хэшу коммита, чтобы сравнивать прогоны
+// (например, в JMH Visualizer). Хэш берется только после прогона jmh, остальные задачи git не запускают.
+// Каталог вне build/, чтобы clean не стирал прошлые прогоны: jmh-results или -PjmhResultsDir=<путь>
+val jmhResultsDir = layout.projectDirectory.dir(providers.gradleProperty("jmhResultsDir").orElse("jmh-results"))
+val jmhResults = jmhResultsDir.map { it.file("latest.json") }
+
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    timeOnIteration = "1s"
+    resultFormat = "JSON"
+    resultsFile = jmhResults
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = listOf(it) }
+}
+
+tasks.named("jmh") {
+    doFirst {
+        jmhResultsDir.get().asFile.mkdirs()
+    }
+    doLast {
+        val revision = providers.exec {
+            commandLine("git", "rev-parse", "--short", "HEAD")
+            isIgnoreExitValue = true
+        }.standardOutput.asText.get().trim().ifEmpty { "local" }
+        val results = jmhResults.get().asFile
+        results.copyTo(results.resolveSibling("$revision.json"), overwrite = true)
+    }
+}
@@ -0,0 +1,64 @@
+package hexlet.code.app.benchmark;
+
+import hexlet.code.app.dto.taskDTO.TaskDTO;
+import hexlet.code.app.model.label.Label;
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.model.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+// Детерминированные данные для замеров: одни и те же значения в каждом прогоне
+final class BenchmarkData {
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final int STATUSES = 5;
+    private static final int LABELS = 10;
+    private static final int LABELS_PER_TASK = 3;
+
+    private BenchmarkData() {
+    }
+
+    static List<Task> tasks(int count) {
+        var statuses = new ArrayList<TaskStatus>();
+        for (int i = 0; i < STATUSES; i++) {
+            statuses.add(TaskStatus.builder().id((long) i + 1).name("Status " + i).slug("status_" + i).build());
+        }
+        var labels = new ArrayList<Label>();
+        for (int i = 0; i < LABELS; i++) {
+            labels.add(Label.builder().id((long) i + 1).name("label_" + i).build());
+        }
+        var assignee = User.builder().id(1L).email("bench@example.com").firstName("Bench").lastName("User").build();
+
+        var tasks = new ArrayList<Task>(count);
+        for (int i = 0; i < count; i++) {
+            var taskLabels = new HashSet<Label>();
+            for (int j = 0; j < LABELS_PER_TASK; j++) {
+                taskLabels.add(labels.get((i + j) % LABELS));
+            }
+            tasks.add(Task.builder()
+                    .id((long) i + 1)
+                    .name("Task " + i)
+                    .index(i + 1)
+                    .description("Description of task " + i + " with a few more words to serialize")
+                    .taskStatus(statuses.get(i % STATUSES))
+                    .assignee(i % 2 == 0 ? assignee : null)
+                    .labels(taskLabels)
+                    .createdAt(CREATED_AT.plusMinutes(i))
+                    .build());
+        }
+        return tasks;
+    }
+
+    static List<TaskDTO> taskDtos(int count) {
+        var dtos = new ArrayList<TaskDTO>(count);
+        for (int i = 0; i < count; i++) {
+            dtos.add(new TaskDTO((long) i + 1, i + 1, i % 2 == 0 ? 1L : null, "Task " + i,
+                    "Description of task " + i + " with a few more words to serialize",
+                    CREATED_AT.plusMinutes(i), "status_" + i % STATUSES, List.of(1L, 2L, 3L)));
+        }
+        return dtos;
+    }
+}
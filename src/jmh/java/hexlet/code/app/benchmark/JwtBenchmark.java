@@ -0,0 +1,55 @@
+package hexlet.code.app.benchmark;
+
+import hexlet.code.app.config.RsaKeyProperties;
+import hexlet.code.app.model.user.User;
+import hexlet.code.app.util.JWTUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.util.concurrent.TimeUnit;
+
+// Выпуск токена при входе и проверка на каждом запросе: подпись RSA без кэша и через CachingJwtDecoder
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class JwtBenchmark {
+    private JWTUtils jwtUtils;
+    private JwtDecoder cachingDecoder;
+    private JwtDecoder nimbusDecoder;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        jwtUtils = application.getBean(JWTUtils.class);
+        cachingDecoder = application.getBean(JwtDecoder.class);
+        nimbusDecoder = NimbusJwtDecoder.withPublicKey(application.getBean(RsaKeyProperties.class).getPublicKey())
+                .build();
+        user = User.builder().id(1L).email("bench@example.com").firstName("Bench").lastName("User").build();
+        token = jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public String encode() {
+        return jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return nimbusDecoder.decode(token);
+    }
+
+    // Повторная проверка того же токена - попадание в кэш
+    @Benchmark
+    public Jwt decodeCached() {
+        return cachingDecoder.decode(token);
+    }
+}
@@ -0,0 +1,50 @@
+package hexlet.code.app.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.app.dto.taskDTO.TaskDTO;
+import hexlet.code.app.dto.taskDTO.TaskPartiallyUpdateDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson из контекста приложения: NON_NULL и JsonNullableModule, как в ответах API
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class TaskJsonBenchmark {
+    private static final String PATCH_BODY = """
+            {"title": "Renamed task", "content": null, "taskLabelIds": [1, 2, 3]}""";
+
+    // Размер страницы списка задач
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<TaskDTO> tasks;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        objectMapper = application.getBean(ObjectMapper.class);
+        tasks = BenchmarkData.taskDtos(size);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    // Тело PATCH /api/tasks/{id}: отсутствующие поля остаются undefined, null - JsonNullable.of(null)
+    @Benchmark
+    public TaskPartiallyUpdateDTO readPartialUpdate() throws JsonProcessingException {
+        return objectMapper.readValue(PATCH_BODY, TaskPartiallyUpdateDTO.class);
+    }
+}
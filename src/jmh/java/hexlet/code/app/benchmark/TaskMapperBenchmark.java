@@ -0,0 +1,61 @@
+package hexlet.code.app.benchmark;
+
+import hexlet.code.app.dto.taskDTO.TaskDTO;
+import hexlet.code.app.dto.taskDTO.TaskPartiallyUpdateDTO;
+import hexlet.code.app.mapper.TaskMapper;
+import hexlet.code.app.model.task.Task;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Маппинг задачи в ответ API и частичное обновление через JsonNullableMapper
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TaskMapperBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    private TaskMapper mapper;
+    private Task task;
+    private List<Task> page;
+    private TaskPartiallyUpdateDTO update;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        mapper = application.getBean(TaskMapper.class);
+        page = BenchmarkData.tasks(PAGE_SIZE);
+        task = page.get(0);
+        update = new TaskPartiallyUpdateDTO(JsonNullable.of("Renamed task"), JsonNullable.of(7),
+                JsonNullable.undefined(), JsonNullable.of("Updated description"), JsonNullable.undefined(),
+                JsonNullable.undefined());
+    }
+
+    @Benchmark
+    public TaskDTO toDto() {
+        return mapper.toDto(task);
+    }
+
+    // Страница списка /api/tasks?_end=100
+    @Benchmark
+    public void toDtoPage(Blackhole blackhole) {
+        for (var item : page) {
+            blackhole.consume(mapper.toDto(item));
+        }
+    }
+
+    // Одни и те же значения на каждой итерации: замеряется сам маппинг, а не рост данных
+    @Benchmark
+    public Task partialUpdate() {
+        mapper.partialUpdate(update, task);
+        return task;
+    }
+}
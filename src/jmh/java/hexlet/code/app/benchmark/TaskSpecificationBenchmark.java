@@ -0,0 +1,64 @@
+package hexlet.code.app.benchmark;
+
+import hexlet.code.app.dto.taskDTO.TaskParamsDTO;
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.specification.TaskSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+// Сборка спецификации фильтров и ее предикатов на Criteria API Hibernate, без обращения к базе
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TaskSpecificationBenchmark {
+
+    // none - список без фильтров, all - все четыре фильтра, включая join по меткам
+    @Param({"none", "all"})
+    private String filters;
+
+    private TaskSpecification specBuilder;
+    private EntityManager entityManager;
+    private CriteriaBuilder cb;
+    private TaskParamsDTO params;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        specBuilder = application.getBean(TaskSpecification.class);
+        entityManager = application.getBean(EntityManagerFactory.class).createEntityManager();
+        cb = entityManager.getCriteriaBuilder();
+        params = "all".equals(filters)
+                ? new TaskParamsDTO("task", 1L, "status_1", 2L)
+                : new TaskParamsDTO(null, null, null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+    }
+
+    @Benchmark
+    public Specification<Task> build() {
+        return specBuilder.build(params);
+    }
+
+    @Benchmark
+    public Predicate toPredicate() {
+        var query = cb.createQuery(Task.class);
+        var root = query.from(Task.class);
+        return specBuilder.build(params).toPredicate(root, query, cb);
+    }
+}
@@ -0,0 +1,28 @@
+package hexlet.code.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.batch")
+
+@Getter
+@Setter
+public class BatchProperties {
+    // Сколько элементов принимает один запрос /api/tasks/batch
+    private int maxItems = 5000;
+
+    // Сколько элементов пишется в одной транзакции
+    private int chunkSize = 500;
+
+    // Сколько ошибок загрузки /api/tasks/import перечисляется в отчете
+    private int importMaxErrors = 100;
+
+    // Сколько символов может занять одна запись CSV или строковое значение NDJSON при загрузке
+    private int importMaxRecordLength = 1_000_000;
+
+    // Сколько задач меняет одна транзакция /api/tasks/bulk
+    private int bulkChunkSize = 1000;
+}
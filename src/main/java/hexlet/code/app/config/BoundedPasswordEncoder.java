@@ -0,0 +1,115 @@
+package hexlet.code.app.config;
+
+import hexlet.code.app.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Хэширование паролей на своем ограниченном пуле: всплеск входов занимает не больше
+// threads + queueCapacity потоков Tomcat, остальные запросы сразу получают 503, а не ждут в очереди
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTimer = Timer.builder("password.hash")
+                .tag("operation", "encode")
+                .description("Время хэширования пароля без ожидания в очереди")
+                .register(registry);
+        this.matchesTimer = Timer.builder("password.hash")
+                .tag("operation", "matches")
+                .description("Время хэширования пароля без ожидания в очереди")
+                .register(registry);
+        this.rejected = Counter.builder("password.hash.rejected")
+                .description("Запросы, отклоненные из-за переполненной очереди хэширования")
+                .register(registry);
+        Gauge.builder("password.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Запросы, ждущие свободный поток хэширования")
+                .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Только разбор префикса и сложности хэша, без хэширования
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    // Сложность, при которой один хэш считается не быстрее target: замер на minStrength,
+    // каждая следующая единица сложности вдвое дороже
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        var encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode(CALIBRATION_PASSWORD);
+        var start = System.nanoTime();
+        encoder.encode(CALIBRATION_PASSWORD);
+        var elapsed = System.nanoTime() - start;
+
+        var strength = minStrength;
+        while (elapsed < target.toNanos() && strength < maxStrength) {
+            strength++;
+            elapsed *= 2;
+        }
+        log.info("BCrypt strength calibrated to {} for target {} ms", strength, target.toMillis());
+        return strength;
+    }
+
+    private <T> T run(Timer timer, Callable<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(hashing));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Сервер перегружен проверкой паролей, повторите запрос позже");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Проверка пароля прервана");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package hexlet.code.app.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Кэши и их лимиты описаны в spring.cache (application.yaml)
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,94 @@
+package hexlet.code.app.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+
+// Декодер с кэшем проверенных токенов: подпись RSA проверяется один раз на токен,
+// дальше Jwt берется по SHA-256 от токена до его exp, но не дольше maxTtl.
+// Невалидные токены не кэшируются, каждый раз уходят в исходный декодер
+public class CachingJwtDecoder implements JwtDecoder {
+    private final JwtDecoder delegate;
+    private final Duration maxTtl;
+    private final Clock clock;
+    private final Cache<String, Jwt> cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maxSize, Duration maxTtl, Clock clock) {
+        this.delegate = delegate;
+        this.maxTtl = maxTtl;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    public Cache<String, Jwt> getCache() {
+        return cache;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (token == null) {
+            return delegate.decode(null);
+        }
+        // Параллельные запросы с одним токеном ждут одну проверку подписи
+        var key = hash(token);
+        var jwt = cache.get(key, ignored -> delegate.decode(token));
+        if (isExpired(jwt)) {
+            cache.invalidate(key);
+            return delegate.decode(token);
+        }
+        return jwt;
+    }
+
+    // Страховка на границе exp: запись могла еще не вытесниться
+    private boolean isExpired(Jwt jwt) {
+        var expiresAt = jwt.getExpiresAt();
+        return expiresAt != null && !clock.instant().isBefore(expiresAt);
+    }
+
+    private static String hash(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final class TokenExpiry implements Expiry<String, Jwt> {
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            var ttl = maxTtl;
+            if (jwt.getExpiresAt() != null) {
+                var untilExpiry = Duration.between(clock.instant(), jwt.getExpiresAt());
+                if (untilExpiry.compareTo(ttl) < 0) {
+                    ttl = untilExpiry;
+                }
+            }
+            return Math.max(0, ttl.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -14,6 +14,10 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
 @Slf4j
 @Configuration
 public class DataInitializer {
@@ -81,7 +85,11 @@ public class DataInitializer {
         }
     }
 
+    // Пользователи, статусы и метки сохраняются одним saveAll: id берутся блоком из последовательности,
+    // вставки уходят JDBC-батчами
     public void generateUsers(Integer count) {
+        var emails = new HashSet<String>();
+        var users = new ArrayList<User>();
         for (int i = 0; i < count; i++) {
             User user = User.builder()
                     .email(faker.internet().emailAddress())
@@ -89,32 +97,30 @@ public class DataInitializer {
                     .lastName(faker.name().lastName())
                     .passwordDigest(faker.lorem().characters(6))
                     .build();
-            if (!userRepository.existsByEmail(user.getEmail())) {
-                userRepository.save(user);
+            if (emails.add(user.getEmail()) && !userRepository.existsByEmail(user.getEmail())) {
+                users.add(user);
                 log.info("✅ user with email: {} created", user.getEmail());
             } else {
                 log.info("❌ user with email: {} is already exist", user.getEmail());
             }
         }
+        userRepository.saveAll(users);
     }
 
     public void createDefaultTaskStatuses() {
-        var taskStatus1 = TaskStatus.builder().name("Draft").slug("draft").build();
-        var taskStatus2 = TaskStatus.builder().name("ToReview").slug("to_review").build();
-        var taskStatus3 = TaskStatus.builder().name("ToBeFixed").slug("to_be_fixed").build();
-        var taskStatus4 = TaskStatus.builder().name("ToPublish").slug("to_publish").build();
-        var taskStatus5 = TaskStatus.builder().name("Published").slug("published").build();
-        taskStatusRepository.save(taskStatus1);
-        taskStatusRepository.save(taskStatus2);
-        taskStatusRepository.save(taskStatus3);
-        taskStatusRepository.save(taskStatus4);
-        taskStatusRepository.save(taskStatus5);
+        taskStatusRepository.saveAll(List.of(
+                TaskStatus.builder().name("Draft").slug("draft").build(),
+                TaskStatus.builder().name("ToReview").slug("to_review").build(),
+                TaskStatus.builder().name("ToBeFixed").slug("to_be_fixed").build(),
+                TaskStatus.builder().name("ToPublish").slug("to_publish").build(),
+                TaskStatus.builder().name("Published").slug("published").build()
+        ));
     }
 
     public void createDefaultLabels() {
-        var defaultLabel1 = Label.builder().name("feature").build();
-        var defaultLabel2 = Label.builder().name("bug").build();
-        labelRepository.save(defaultLabel1);
-        labelRepository.save(defaultLabel2);
+        labelRepository.saveAll(List.of(
+                Label.builder().name("feature").build(),
+                Label.builder().name("bug").build()
+        ));
     }
 }
@@ -6,17 +6,24 @@ import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
+import java.time.Clock;
+import java.util.Map;
+
 @Configuration
 public class EncoderConfig {
+    private static final String BCRYPT_ID = "bcrypt";
 
     private final RsaKeyProperties rsaKeys;
 
@@ -24,9 +31,19 @@ public class EncoderConfig {
         this.rsaKeys = rsaKeys;
     }
 
+    // Новые хэши пишутся с префиксом {bcrypt}, старые без префикса проверяются как BCrypt.
+    // Хэш с устаревшей сложностью или без префикса пересчитывается при входе (CustomUserDetailsService)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        var strength = properties.getStrength() != null
+                ? properties.getStrength()
+                : BoundedPasswordEncoder.calibrate(properties.getTargetDuration(),
+                        properties.getMinStrength(), properties.getMaxStrength());
+        var bcrypt = new BCryptPasswordEncoder(strength);
+        var delegating = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new BoundedPasswordEncoder(delegating, properties.getThreads(), properties.getQueueCapacity(),
+                meterRegistry);
     }
 
     @Bean
@@ -38,8 +55,12 @@ public class EncoderConfig {
         return new NimbusJwtEncoder(jwks);
     }
 
+    // Проверка подписи и сроков - Nimbus, поверх него кэш уже проверенных токенов
     @Bean
-    public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(rsaKeys.getPublicKey()).build();
+    public JwtDecoder jwtDecoder(JwtCacheProperties properties, MeterRegistry meterRegistry) {
+        var decoder = new CachingJwtDecoder(NimbusJwtDecoder.withPublicKey(rsaKeys.getPublicKey()).build(),
+                properties.getMaxSize(), properties.getMaxTtl(), Clock.systemUTC());
+        CaffeineCacheMetrics.monitor(meterRegistry, decoder.getCache(), "jwtDecoder");
+        return decoder;
     }
 }
@@ -0,0 +1,61 @@
+package hexlet.code.app.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Кэш второго уровня Hibernate на локальном JCache (Caffeine).
+// Регионы создаются здесь заранее с лимитами: регион, которого нет в списке, роняет старт приложения
+@Configuration
+public class HibernateCacheConfig {
+    public static final String TASK_STATUSES_REGION = "taskStatuses";
+    public static final String LABELS_REGION = "labels";
+    public static final String QUERY_RESULTS_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    public static final String TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    // Регионы с данными: ограничены по размеру и времени жизни
+    public static final List<String> DATA_REGIONS = List.of(TASK_STATUSES_REGION, LABELS_REGION, QUERY_RESULTS_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(HibernateCacheProperties properties) {
+        var provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // Свой менеджер на каждый контекст: тесты поднимают несколько контекстов в одной JVM
+        var uri = URI.create("hibernate-second-level-" + UUID.randomUUID());
+        var cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+
+        for (var region : DATA_REGIONS) {
+            var configuration = configuration();
+            configuration.setMaximumSize(OptionalLong.of(properties.getMaxSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(properties.getTimeToLive().toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+
+        // Время последнего изменения таблиц не вытесняется: без него кэш запросов
+        // счел бы устаревший результат актуальным. Записей в нем не больше, чем таблиц
+        cacheManager.createCache(TIMESTAMPS_REGION, configuration());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    // Hibernate сам хранит разобранное состояние сущностей, копировать его при каждом обращении незачем
+    private static CaffeineConfiguration<Object, Object> configuration() {
+        var configuration = new CaffeineConfiguration<Object, Object>();
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
@@ -0,0 +1,72 @@
+package hexlet.code.app.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+// Попадания, промахи и доля попаданий по каждому региону кэша второго уровня.
+// Счетчики берутся из статистики Hibernate: без app.hibernate-cache.statistics метрики не публикуются
+@Component
+public class HibernateCacheMetrics implements MeterBinder {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Выключенная статистика отдавала бы вечные нули
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+
+        bind(registry, HibernateCacheConfig.TASK_STATUSES_REGION, statistics,
+                stats -> region(stats, HibernateCacheConfig.TASK_STATUSES_REGION).getHitCount(),
+                stats -> region(stats, HibernateCacheConfig.TASK_STATUSES_REGION).getMissCount());
+        bind(registry, HibernateCacheConfig.LABELS_REGION, statistics,
+                stats -> region(stats, HibernateCacheConfig.LABELS_REGION).getHitCount(),
+                stats -> region(stats, HibernateCacheConfig.LABELS_REGION).getMissCount());
+        bind(registry, HibernateCacheConfig.QUERY_RESULTS_REGION, statistics,
+                Statistics::getQueryCacheHitCount,
+                Statistics::getQueryCacheMissCount);
+        bind(registry, HibernateCacheConfig.TIMESTAMPS_REGION, statistics,
+                Statistics::getUpdateTimestampsCacheHitCount,
+                Statistics::getUpdateTimestampsCacheMissCount);
+    }
+
+    private void bind(MeterRegistry registry, String region, Statistics statistics,
+                      ToDoubleFunction<Statistics> hits, ToDoubleFunction<Statistics> misses) {
+        FunctionCounter.builder("hibernate.cache.requests", statistics, hits)
+                .tags("region", region, "result", "hit")
+                .description("Обращения к региону кэша второго уровня")
+                .register(registry);
+        FunctionCounter.builder("hibernate.cache.requests", statistics, misses)
+                .tags("region", region, "result", "miss")
+                .description("Обращения к региону кэша второго уровня")
+                .register(registry);
+        ToDoubleFunction<Statistics> hitRatio = stats ->
+                hitRatio(hits.applyAsDouble(stats), misses.applyAsDouble(stats));
+        Gauge.builder("hibernate.cache.hit.ratio", statistics, hitRatio)
+                .tag("region", region)
+                .description("Доля попаданий в регион с запуска приложения")
+                .register(registry);
+    }
+
+    private static CacheRegionStatistics region(Statistics statistics, String region) {
+        return statistics.getDomainDataRegionStatistics(region);
+    }
+
+    private static double hitRatio(double hits, double misses) {
+        var total = hits + misses;
+        return total == 0 ? 0 : hits / total;
+    }
+}
@@ -0,0 +1,25 @@
+package hexlet.code.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.hibernate-cache")
+
+@Getter
+@Setter
+public class HibernateCacheProperties {
+    // Лимит записей в каждом регионе сущностей и в кэше запросов
+    private long maxSize = 1000;
+
+    // Сколько живет запись после записи в кэш, даже если ее никто не менял
+    private Duration timeToLive = Duration.ofMinutes(10);
+
+    // Статистика Hibernate (hibernate.generate_statistics) и метрики hibernate.cache.* на ее основе.
+    // Выключена по умолчанию: учет ведется в каждой сессии и на каждый запрос
+    private boolean statistics;
+}
@@ -0,0 +1,21 @@
+package hexlet.code.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.jwt-cache")
+
+@Getter
+@Setter
+public class JwtCacheProperties {
+    // Сколько проверенных токенов держим в памяти
+    private long maxSize = 10_000;
+
+    // Токен живет в кэше до exp, но не дольше этого срока
+    private Duration maxTtl = Duration.ofHours(1);
+}
@@ -0,0 +1,60 @@
+package hexlet.code.app.config;
+
+import hexlet.code.app.service.BoardService;
+import hexlet.code.app.service.LabelService;
+import hexlet.code.app.service.TaskBulkService;
+import hexlet.code.app.service.TaskService;
+import hexlet.code.app.service.TaskStatusService;
+import hexlet.code.app.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+
+// Метрики слоев приложения. Остальное Spring Boot снимает сам:
+// http.server.requests, spring.data.repository.invocations (вызовы репозиториев) и hikaricp.connections.acquire
+@Configuration
+public class MetricsConfig {
+    private static final Set<Class<?>> TIMED_SERVICES = Set.of(
+            TaskService.class, UserService.class, LabelService.class, TaskStatusService.class, BoardService.class,
+            TaskBulkService.class);
+
+    // Инфраструктурная роль: advisor подхватывает тот же автопрокси, что и @Transactional,
+    // поэтому сервисы не оборачиваются вторым прокси
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        var pointcut = new ComposablePointcut(TIMED_SERVICES::contains, new StaticMethodMatcher() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        });
+        return new DefaultPointcutAdvisor(pointcut, new ServiceMetricsInterceptor(meterRegistry));
+    }
+
+    // Счетчик SQL на запрос видит все соединения пула, а не только операторы Hibernate
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)
+                        ? new StatementCountingDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+}
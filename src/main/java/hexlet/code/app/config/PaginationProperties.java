@@ -0,0 +1,29 @@
+package hexlet.code.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.pagination")
+
+@Getter
+@Setter
+public class PaginationProperties {
+    // Как считать X-Total-Count для списков задач и пользователей
+    private CountStrategy countStrategy = CountStrategy.EXACT;
+
+    // Для CACHED: сколько живет посчитанное значение и сколько фильтров помним
+    private Duration countCacheTtl = Duration.ofSeconds(30);
+    private long countCacheSize = 1000;
+
+    public enum CountStrategy {
+        EXACT,      // count(*) на каждый запрос
+        CACHED,     // count(*) кэшируется по сигнатуре фильтра на countCacheTtl
+        ESTIMATED,  // оценка планировщика PostgreSQL без фильтров, иначе как CACHED
+        NONE        // не считаем вовсе, отдаем только признак следующей страницы
+    }
+}
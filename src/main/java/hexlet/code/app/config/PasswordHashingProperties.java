@@ -0,0 +1,25 @@
+package hexlet.code.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.password-hashing")
+
+@Getter
+@Setter
+public class PasswordHashingProperties {
+    // Сложность BCrypt. Если не задана, подбирается при старте под targetDuration
+    private Integer strength;
+    private Duration targetDuration = Duration.ofMillis(250);
+    private int minStrength = 10;
+    private int maxStrength = 16;
+
+    // Потоки хэширования и очередь к ним: все, что не влезло, сразу получает 503
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 64;
+}
@@ -0,0 +1,51 @@
+package hexlet.code.app.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Таймер service.method на каждый вызов метода сервиса. Таймер успешных вызовов создается
+// один раз на метод и дальше берется из карты, так что на вызов - два nanoTime и запись в таймер
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+    private static final String NO_EXCEPTION = "none";
+
+    // Реестр берется при первом вызове: advisor создается раньше, чем реестр успевают настроить
+    private final ObjectProvider<MeterRegistry> registry;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsInterceptor(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var start = System.nanoTime();
+        try {
+            var result = invocation.proceed();
+            timers.computeIfAbsent(invocation.getMethod(), method -> timer(method, NO_EXCEPTION))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            // Ошибки редки, их таймер ищется в реестре по тегам
+            timer(invocation.getMethod(), e.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder("service.method")
+                .description("Вызовы методов сервисов")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(registry.getObject());
+    }
+}
@@ -0,0 +1,17 @@
+package hexlet.code.app.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Сколько SELECT допускает один запрос к методу контроллера, включая сериализацию ответа.
+// Записи не считаются: их число задают батчи Hibernate, а не код маппинга.
+// Проверяет SqlBudgetGuard, если app.sql-budget.mode не none
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+    int value();
+}
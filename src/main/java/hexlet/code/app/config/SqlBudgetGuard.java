@@ -0,0 +1,64 @@
+package hexlet.code.app.config;
+
+import hexlet.code.app.exception.SqlBudgetExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+
+// Бюджет SQL на запрос для dev и тестов. Интерцептор находит @SqlBudget у выбранного метода контроллера,
+// а проверку вызывает SqlStatementMetricsFilter, когда запрос уже завершен и все ленивые загрузки посчитаны
+@Slf4j
+@Component
+public class SqlBudgetGuard implements HandlerInterceptor {
+    private static final String BUDGET_ATTRIBUTE = SqlBudgetGuard.class.getName() + ".budget";
+
+    @Autowired
+    private SqlBudgetProperties properties;
+
+    public boolean isEnabled() {
+        return properties.getMode() != SqlBudgetProperties.Mode.NONE;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (isEnabled() && handler instanceof HandlerMethod method) {
+            var budget = method.getMethodAnnotation(SqlBudget.class);
+            if (budget == null) {
+                budget = method.getBeanType().getAnnotation(SqlBudget.class);
+            }
+            if (budget != null) {
+                request.setAttribute(BUDGET_ATTRIBUTE, budget.value());
+            }
+        }
+        return true;
+    }
+
+    // Повторы одного SELECT только предупреждают, превышение бюджета - по app.sql-budget.mode
+    public void check(HttpServletRequest request, String uri, SqlStatementCounter.Count count) {
+        if (!isEnabled()) {
+            return;
+        }
+        var endpoint = request.getMethod() + " " + uri;
+        count.getQueryRepeats().entrySet().stream()
+                .filter(entry -> entry.getValue() > properties.getMaxQueryRepeats())
+                .max(Map.Entry.comparingByValue())
+                .ifPresent(entry -> log.warn("Possible N+1 in {}: query executed {} times: {}",
+                        endpoint, entry.getValue(), entry.getKey()));
+
+        if (!(request.getAttribute(BUDGET_ATTRIBUTE) instanceof Integer budget) || count.getQueries() <= budget) {
+            return;
+        }
+        var message = "SQL budget exceeded in " + endpoint + ": " + count.getQueries()
+                + " queries, budget " + budget;
+        if (properties.getMode() == SqlBudgetProperties.Mode.FAIL) {
+            throw new SqlBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+}
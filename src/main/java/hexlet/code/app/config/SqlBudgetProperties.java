@@ -0,0 +1,24 @@
+package hexlet.code.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.sql-budget")
+
+@Getter
+@Setter
+public class SqlBudgetProperties {
+    private Mode mode = Mode.NONE;
+
+    // Один и тот же SELECT чаще этого за запрос - вероятный N+1, пишем предупреждение
+    private int maxQueryRepeats = 3;
+
+    public enum Mode {
+        NONE,   // бюджеты не проверяются, тексты запросов не копятся
+        LOG,    // превышение - предупреждение в логе
+        FAIL    // превышение - исключение из фильтра, тест падает
+    }
+}
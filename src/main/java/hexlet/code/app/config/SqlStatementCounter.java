@@ -0,0 +1,80 @@
+package hexlet.code.app.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Считает SQL, отправленные в базу из текущего потока между begin() и end().
+// Операторы передает StatementCountingDataSource, поэтому учитываются и Hibernate, и JdbcTemplate.
+// На каждый оператор - чтение ThreadLocal и инкремент, тексты SELECT копятся только по запросу
+public final class SqlStatementCounter {
+    private static final ThreadLocal<Count> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    static void record(String sql) {
+        var count = CURRENT.get();
+        if (count != null) {
+            count.add(sql);
+        }
+    }
+
+    // trackQueries - запоминать, сколько раз выполнялся каждый SELECT (для поиска N+1)
+    public static void begin(boolean trackQueries) {
+        CURRENT.set(new Count(trackQueries));
+    }
+
+    // Сколько операторов подготовлено с begin(), -1 если подсчет не начат
+    public static long current() {
+        var count = CURRENT.get();
+        return count == null ? -1 : count.statements;
+    }
+
+    public static Count end() {
+        var count = CURRENT.get();
+        CURRENT.remove();
+        return count == null ? new Count(false) : count;
+    }
+
+    public static final class Count {
+        private final Map<String, Integer> queryRepeats;
+        private long statements;
+        private long queries;
+
+        private Count(boolean trackQueries) {
+            queryRepeats = trackQueries ? new HashMap<>() : null;
+        }
+
+        private void add(String sql) {
+            statements++;
+            if (isQuery(sql)) {
+                queries++;
+                if (queryRepeats != null) {
+                    queryRepeats.merge(sql, 1, Integer::sum);
+                }
+            }
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+
+        // Только чтения: SELECT и запросы с WITH
+        public long getQueries() {
+            return queries;
+        }
+
+        // Текст SELECT -> сколько раз он выполнялся, пусто без trackQueries
+        public Map<String, Integer> getQueryRepeats() {
+            return queryRepeats == null ? Map.of() : queryRepeats;
+        }
+
+        private static boolean isQuery(String sql) {
+            int start = 0;
+            while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+                start++;
+            }
+            return sql.regionMatches(true, start, "select", 0, 6) || sql.regionMatches(true, start, "with", 0, 4);
+        }
+    }
+}
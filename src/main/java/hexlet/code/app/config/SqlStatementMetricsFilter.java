@@ -0,0 +1,63 @@
+package hexlet.code.app.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Число SQL на HTTP-запрос: http.server.requests.sql с теми же method и uri, что у http.server.requests.
+// Считается только поток запроса: асинхронная часть (StreamingResponseBody) в счет не входит.
+// После ответа тот же подсчет сверяется с @SqlBudget метода контроллера.
+// Счетчик создается один раз на пару method и uri, как таймеры в ServiceMetricsInterceptor
+@Component
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final Map<SummaryKey, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SqlBudgetGuard budgetGuard;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.begin(budgetGuard.isEnabled());
+        SqlStatementCounter.Count count;
+        String uri;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            count = SqlStatementCounter.end();
+            var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            uri = pattern == null ? UNKNOWN_URI : pattern.toString();
+            summaries.computeIfAbsent(new SummaryKey(request.getMethod(), uri), this::summary)
+                    .record(count.getStatements());
+        }
+        // Вне finally: исключение запроса не подменяется ошибкой бюджета
+        budgetGuard.check(request, uri, count);
+    }
+
+    private DistributionSummary summary(SummaryKey key) {
+        return DistributionSummary.builder("http.server.requests.sql")
+                .baseUnit("statements")
+                .description("SQL, отправленные в базу за один HTTP-запрос")
+                .tag("method", key.method())
+                .tag("uri", key.uri())
+                .register(meterRegistry);
+    }
+
+    private record SummaryKey(String method, String uri) { }
+}
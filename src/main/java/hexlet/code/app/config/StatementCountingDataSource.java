@@ -0,0 +1,80 @@
+package hexlet.code.app.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+// Передает в SqlStatementCounter каждый оператор, отправленный через соединения пула:
+// и от Hibernate, и от JdbcTemplate (ETag, доска, счетчики, множественные изменения, поиск).
+// Подготовленный оператор считается один раз, сколько бы строк ни ушло в его батч
+public class StatementCountingDataSource extends DelegatingDataSource {
+    private static final Set<String> PREPARE_METHODS = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            var name = method.getName();
+            if (PREPARE_METHODS.contains(name)) {
+                SqlStatementCounter.record((String) args[0]);
+            }
+            var result = invoke(connection, method, args);
+            if (name.equals("createStatement")) {
+                return wrap((Statement) result);
+            }
+            return result;
+        });
+    }
+
+    // Обычный Statement получает текст только при выполнении
+    private static Statement wrap(Statement statement) {
+        return proxy(Statement.class, statement, (proxy, method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName()) && args != null && args[0] instanceof String sql) {
+                SqlStatementCounter.record(sql);
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    // equals и hashCode - по самому прокси: Spring сравнивает соединения транзакции между собой
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        InvocationHandler identity = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "Counting " + target;
+            default -> handler.invoke(proxy, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(
+                StatementCountingDataSource.class.getClassLoader(), new Class<?>[] {type}, identity));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
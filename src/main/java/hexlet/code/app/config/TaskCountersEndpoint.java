@@ -0,0 +1,30 @@
+package hexlet.code.app.config;
+
+import hexlet.code.app.dto.taskDTO.TaskStatsDTO;
+import hexlet.code.app.service.TaskCounterService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+// Служебный пересчет счетчиков задач из tasks - не часть публичного API.
+// По умолчанию endpoint никуда не открыт: его включают через management.endpoints.web.exposure.include
+// только на порту management.server.port, закрытом от пользователей
+@Component
+@Endpoint(id = "taskcounters")
+public class TaskCountersEndpoint {
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @ReadOperation
+    public TaskStatsDTO stats() {
+        return taskCounterService.getStats();
+    }
+
+    @WriteOperation
+    public TaskStatsDTO rebuild() {
+        return taskCounterService.rebuild();
+    }
+}
@@ -0,0 +1,90 @@
+package hexlet.code.app.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreadType;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Следит за событиями JFR jdk.VirtualThreadPinned в режиме виртуальных потоков.
+// Закрепление под нашим кодом (synchronized или native вокруг блокирующего вызова) пишется в лог со стеком:
+// пока поток закреплен, носитель не обслуживает другие запросы
+@Slf4j
+@Component
+@ConditionalOnThreadType(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "hexlet.code.";
+    private static final int LOGGED_FRAMES = 12;
+
+    @Autowired
+    private VirtualThreadProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile RecordingStream stream;
+    private Counter appPinned;
+    private Counter otherPinned;
+
+    @Override
+    public void start() {
+        appPinned = pinnedCounter("true");
+        otherPinned = pinnedCounter("false");
+
+        var recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(properties.getPinnedThreshold()).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::report);
+        recording.startAsync();
+        stream = recording;
+        log.info("Virtual thread pinning monitor started, threshold {} ms", properties.getPinnedThreshold().toMillis());
+    }
+
+    @Override
+    public void stop() {
+        var recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void report(RecordedEvent event) {
+        var stackTrace = event.getStackTrace();
+        var frames = stackTrace == null ? List.<RecordedFrame>of() : stackTrace.getFrames();
+        var fromApp = frames.stream()
+                .anyMatch(frame -> frame.getMethod().getType().getName().startsWith(APP_PACKAGE));
+        if (!fromApp) {
+            otherPinned.increment();
+            return;
+        }
+        appPinned.increment();
+        log.warn("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(),
+                frames.stream()
+                        .limit(LOGGED_FRAMES)
+                        .map(frame -> "\tat " + frame.getMethod().getType().getName() + "."
+                                + frame.getMethod().getName() + ":" + frame.getLineNumber())
+                        .collect(Collectors.joining("\n")));
+    }
+
+    private Counter pinnedCounter(String app) {
+        return Counter.builder("jvm.threads.virtual.pinned")
+                .tag("app", app)
+                .description("Закрепления виртуального потока за носителем дольше порога")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package hexlet.code.app.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.virtual-threads")
+
+@Getter
+@Setter
+public class VirtualThreadProperties {
+    // Закрепление виртуального потока за носителем дольше этого порога попадает в лог и метрику
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+}
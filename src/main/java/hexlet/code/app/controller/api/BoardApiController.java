@@ -0,0 +1,30 @@
+package hexlet.code.app.controller.api;
+
+import hexlet.code.app.dto.boardDTO.BoardColumnDTO;
+import hexlet.code.app.dto.taskDTO.TaskParamsDTO;
+import hexlet.code.app.service.BoardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/board")
+public class BoardApiController {
+
+    @Autowired
+    private BoardService boardService;
+
+    // Колонки доски за один запрос вместо списка статусов и отдельного /api/tasks на каждый.
+    // Фильтры titleCont, assigneeId и labelId - как у /api/tasks, status не учитывается
+    @GetMapping("")
+    public ResponseEntity<List<BoardColumnDTO>> index(
+            TaskParamsDTO params,
+            @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(boardService.getBoard(params, limit));
+    }
+}
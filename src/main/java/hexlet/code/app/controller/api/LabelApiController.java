@@ -4,6 +4,7 @@ import hexlet.code.app.dto.labelDTO.LabelCreateDTO;
 import hexlet.code.app.dto.labelDTO.LabelDTO;
 import hexlet.code.app.dto.labelDTO.LabelUpdateDTO;
 import hexlet.code.app.service.LabelService;
+import hexlet.code.app.service.TableVersionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.List;
@@ -28,6 +30,9 @@ public class LabelApiController {
     @Autowired
     private LabelService labelService;
 
+    @Autowired
+    private TableVersionService tableVersionService;
+
     @PostMapping("")
     public ResponseEntity<LabelDTO> create(@Valid @RequestBody LabelCreateDTO labelData) {
         var label = labelService.create(labelData);
@@ -36,7 +41,11 @@ public class LabelApiController {
     }
 
     @GetMapping("")
-    public ResponseEntity<List<LabelDTO>> index() {
+    public ResponseEntity<List<LabelDTO>> index(WebRequest request) {
+        // 304 без чтения меток, пока таблица не менялась; ETag в ответ ставит checkNotModified
+        if (request.checkNotModified(tableVersionService.collectionTag(TableVersionService.LABELS))) {
+            return null;
+        }
         var labels = labelService.findAll();
         return ResponseEntity.ok()
                 .header("X-Total-Count", String.valueOf(labels.size()))
@@ -44,7 +53,11 @@ public class LabelApiController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<LabelDTO> show(@PathVariable Long id) {
+    public ResponseEntity<LabelDTO> show(@PathVariable Long id, WebRequest request) {
+        var etag = tableVersionService.entityTag(TableVersionService.LABELS, id);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         var label = labelService.findById(id);
         return ResponseEntity.ok()
                 .body(label);
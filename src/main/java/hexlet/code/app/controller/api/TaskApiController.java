@@ -1,16 +1,30 @@
 package hexlet.code.app.controller.api;
 
+import hexlet.code.app.config.SqlBudget;
+import hexlet.code.app.dto.taskDTO.TaskBatchResultDTO;
+import hexlet.code.app.dto.taskDTO.TaskBatchUpdateDTO;
+import hexlet.code.app.dto.taskDTO.TaskBulkDTO;
+import hexlet.code.app.dto.taskDTO.TaskBulkResultDTO;
 import hexlet.code.app.dto.taskDTO.TaskDTO;
+import hexlet.code.app.dto.taskDTO.TaskImportReportDTO;
 import hexlet.code.app.dto.taskDTO.TaskParamsDTO;
+import hexlet.code.app.dto.taskDTO.TaskStatsDTO;
 import hexlet.code.app.dto.taskDTO.TaskCreateDTO;
 import hexlet.code.app.dto.taskDTO.TaskPartiallyUpdateDTO;
 import hexlet.code.app.dto.taskDTO.TaskFullUpdateDTO;
+import hexlet.code.app.service.TaskBatchService;
+import hexlet.code.app.service.TaskBulkService;
+import hexlet.code.app.service.TaskCounterService;
+import hexlet.code.app.service.TaskExportService;
+import hexlet.code.app.service.TaskFileFormat;
+import hexlet.code.app.service.TaskImportService;
 import hexlet.code.app.service.TaskService;
-import hexlet.code.app.specification.TaskSpecification;
+import hexlet.code.app.service.TableVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import jakarta.validation.Valid;
@@ -25,18 +39,40 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskApiController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String HAS_MORE_HEADER = "X-Has-More";
 
     @Autowired
     private TaskService taskService;
 
     @Autowired
-    private TaskSpecification specBuilder;
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private TaskBulkService taskBulkService;
+
+    @Autowired
+    private TableVersionService tableVersionService;
 
     @PostMapping("")
     public ResponseEntity<TaskDTO> create(@Valid @RequestBody TaskCreateDTO taskData) {
@@ -45,30 +81,97 @@ public class TaskApiController {
                 .body(task);
     }
 
+    // Бюджет: отметки таблиц для ETag, страница, count и метки; в режиме курсора - без count
     @GetMapping("")
+    @SqlBudget(4)
     public ResponseEntity<List<TaskDTO>> index(
             TaskParamsDTO sortParams,
             @RequestParam(name = "_start", defaultValue = "0") int start,
             @RequestParam(name = "_end", defaultValue = "10") int end,
             @RequestParam(name = "_sort", defaultValue = "id") String sort,
-            @RequestParam(name = "_order", defaultValue = "ASC") String order) {
+            @RequestParam(name = "_order", defaultValue = "ASC") String order,
+            @RequestParam(name = "_cursor", required = false) String cursor,
+            WebRequest request) {
+        // В задачах есть слаг статуса, поэтому ETag - по задачам и статусам; пока они не менялись - 304
+        if (request.checkNotModified(
+                tableVersionService.collectionTag(TableVersionService.TASKS, TableVersionService.TASK_STATUSES))) {
+            return null;
+        }
         // Пагинация и фильтрация
         int page = start / (end - start);
         int size = end - start;
         Sort.Direction direction = order.equalsIgnoreCase("DESC")
                 ? Sort.Direction.DESC
                 : Sort.Direction.ASC;
-        var spec = specBuilder.build(sortParams);
+
+        // Режим курсора (_cursor передан, пустой - первая страница): без OFFSET и без подсчета
+        if (cursor != null) {
+            var slice = taskService.findAllByCursor(sortParams, sort, direction, size, cursor);
+            var response = ResponseEntity.ok();
+            if (slice.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, slice.nextCursor());
+            }
+            return response.body(slice.content());
+        }
+
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sort));
-        var tasksPage = taskService.findAll(pageable, spec);
-        var response = tasksPage.stream().toList();
+        var responseData = taskService.findAll(pageable, sortParams);
+        // Без подсчета (стратегия NONE) вместо X-Total-Count отдаем признак следующей страницы
+        var response = ResponseEntity.ok();
+        if (responseData.totalTasks() != null) {
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(responseData.totalTasks()));
+        } else {
+            response.header(HAS_MORE_HEADER, String.valueOf(responseData.hasMore()));
+        }
+        return response.body(responseData.taskDTOList());
+    }
+
+    // Выгрузка всех задач с теми же фильтрами, что и у списка: строки пишутся в ответ по мере чтения
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            TaskParamsDTO params,
+            @RequestParam(name = "format", defaultValue = "ndjson") String format) {
+        var exportFormat = TaskFileFormat.parse(format);
+        StreamingResponseBody body = out -> taskExportService.export(params, exportFormat, out);
         return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(tasksPage.getTotalElements()))
-                .body(response);
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tasks." + exportFormat.getExtension())
+                .body(body);
     }
 
+    // Загрузка NDJSON или CSV: тело читается потоком, ошибки отдельных записей - в отчете
+    @PostMapping("/import")
+    public ResponseEntity<TaskImportReportDTO> importTasks(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            InputStream body) throws IOException {
+        var report = taskImportService.importTasks(body, TaskFileFormat.parse(format));
+        return ResponseEntity.ok(report);
+    }
+
+    // Поиск по названию и описанию, самые релевантные задачи первыми.
+    // Бюджет: id по релевантности (на PostgreSQL - запрос к базе), задачи и их метки
+    @GetMapping("/search")
+    @SqlBudget(3)
+    public ResponseEntity<List<TaskDTO>> search(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(taskService.search(query, limit));
+    }
+
+    // Число задач по статусам и исполнителям из счетчиков, без count(*) по tasks
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsDTO> stats() {
+        return ResponseEntity.ok(taskCounterService.getStats());
+    }
+
+    // Бюджет: версия строки и отметка статусов для ETag, задача со связями
     @GetMapping("/{id}")
-    public ResponseEntity<TaskDTO> show(@PathVariable("id") Long id) {
+    @SqlBudget(3)
+    public ResponseEntity<TaskDTO> show(@PathVariable("id") Long id, WebRequest request) {
+        var etag = tableVersionService.entityTag(TableVersionService.TASKS, id, TableVersionService.TASK_STATUSES);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         var task = taskService.findById(id);
         return ResponseEntity.ok()
                 .body(task);
@@ -96,4 +199,26 @@ public class TaskApiController {
     public void delete(@PathVariable("id") Long id) {
         taskService.delete(id);
     }
+
+    // Пакетные операции: валидация и ошибки - в результате каждого элемента, а не во всем ответе
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskBatchResultDTO>> createBatch(@RequestBody List<TaskCreateDTO> tasksData) {
+        return ResponseEntity.ok(taskBatchService.createAll(tasksData));
+    }
+
+    @PatchMapping("/batch")
+    public ResponseEntity<List<TaskBatchResultDTO>> updateBatch(@RequestBody List<TaskBatchUpdateDTO> tasksData) {
+        return ResponseEntity.ok(taskBatchService.updateAll(tasksData));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<TaskBatchResultDTO>> deleteBatch(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(taskBatchService.deleteAll(ids));
+    }
+
+    // Удаление, перенос, переназначение и метки для всех задач под фильтром: в ответе - число затронутых строк
+    @PostMapping("/bulk")
+    public ResponseEntity<TaskBulkResultDTO> bulk(@Valid @RequestBody TaskBulkDTO request) {
+        return ResponseEntity.ok(taskBulkService.execute(request));
+    }
 }
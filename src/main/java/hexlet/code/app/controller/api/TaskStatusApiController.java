@@ -4,6 +4,7 @@ import hexlet.code.app.dto.taskStatusDTO.TaskStatusCreateDTO;
 import hexlet.code.app.dto.taskStatusDTO.TaskStatusDTO;
 import hexlet.code.app.dto.taskStatusDTO.TaskStatusFullUpdateDTO;
 import hexlet.code.app.dto.taskStatusDTO.TaskStatusPartiallyUpdateDTO;
+import hexlet.code.app.service.TableVersionService;
 import hexlet.code.app.service.TaskStatusService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.List;
@@ -30,6 +32,9 @@ public class TaskStatusApiController {
     @Autowired
     private TaskStatusService taskStatusService;
 
+    @Autowired
+    private TableVersionService tableVersionService;
+
     @PostMapping("")
     public ResponseEntity<TaskStatusDTO> create(@Valid @RequestBody TaskStatusCreateDTO taskStatusData) {
         var savedTaskStatus = taskStatusService.create(taskStatusData);
@@ -38,7 +43,11 @@ public class TaskStatusApiController {
     }
 
     @GetMapping("")
-    public ResponseEntity<List<TaskStatusDTO>> index() {
+    public ResponseEntity<List<TaskStatusDTO>> index(WebRequest request) {
+        // 304 без чтения статусов, пока таблица не менялась; ETag в ответ ставит checkNotModified
+        if (request.checkNotModified(tableVersionService.collectionTag(TableVersionService.TASK_STATUSES))) {
+            return null;
+        }
         var taskStatuses = taskStatusService.findAll();
         return ResponseEntity.ok()
                 .header("X-Total-Count", String.valueOf(taskStatuses.size()))
@@ -46,7 +55,11 @@ public class TaskStatusApiController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TaskStatusDTO> show(@PathVariable("id") Long id) {
+    public ResponseEntity<TaskStatusDTO> show(@PathVariable("id") Long id, WebRequest request) {
+        var etag = tableVersionService.entityTag(TableVersionService.TASK_STATUSES, id);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         var taskStatus = taskStatusService.findById(id);
         return ResponseEntity.ok()
                 .body(taskStatus);
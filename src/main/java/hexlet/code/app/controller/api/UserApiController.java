@@ -1,10 +1,12 @@
 package hexlet.code.app.controller.api;
 
+import hexlet.code.app.config.SqlBudget;
 import hexlet.code.app.dto.userDTO.UserCreateDTO;
 import hexlet.code.app.dto.userDTO.UserDTO;
 import hexlet.code.app.dto.userDTO.UserFullUpdateDTO;
 import hexlet.code.app.dto.userDTO.UserPartiallyUpdateDTO;
 import hexlet.code.app.mapper.UserMapper;
+import hexlet.code.app.service.TableVersionService;
 import hexlet.code.app.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +26,7 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -34,6 +37,9 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/users")
 public class UserApiController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String HAS_MORE_HEADER = "X-Has-More";
 
     @Autowired
     private UserService userService;
@@ -41,6 +47,9 @@ public class UserApiController {
     @Autowired
     private UserMapper mapper;
 
+    @Autowired
+    private TableVersionService tableVersionService;
+
     @PostMapping("")
     public ResponseEntity<UserDTO> create(@Valid @RequestBody UserCreateDTO userData) {
         var savedUser = userService.create(userData);
@@ -48,28 +57,58 @@ public class UserApiController {
                 .body(savedUser);
     }
 
+    // Бюджет: отметка таблицы для ETag, страница и count
     @GetMapping("")
+    @SqlBudget(3)
     public ResponseEntity<List<UserDTO>> index(
             @RequestParam(name = "_start", defaultValue = "0") int start,  // маппинг имени
             @RequestParam(name = "_end", defaultValue = "10") int end,
             @RequestParam(name = "_sort", defaultValue = "id") String sort,
-            @RequestParam(name = "_order", defaultValue = "ASC") String order) {
+            @RequestParam(name = "_order", defaultValue = "ASC") String order,
+            @RequestParam(name = "_cursor", required = false) String cursor,
+            WebRequest request) {
+        // Страница, курсор и число записей зависят только от users: пока таблица не менялась - 304
+        if (request.checkNotModified(tableVersionService.collectionTag(TableVersionService.USERS))) {
+            return null;
+        }
         int page = start / (end - start);
         int size = end - start;
         Sort.Direction direction = order.equalsIgnoreCase("DESC")
                 ? Sort.Direction.DESC
                 : Sort.Direction.ASC;
+
+        // Режим курсора (_cursor передан, пустой - первая страница): без OFFSET и без подсчета
+        if (cursor != null) {
+            var slice = userService.findAllByCursor(sort, direction, size, cursor);
+            var response = ResponseEntity.ok();
+            if (slice.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, slice.nextCursor());
+            }
+            return response.body(slice.content());
+        }
+
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sort));
         var responseData = userService.findAll(pageable);
 
-        return ResponseEntity.ok()
-                .header("X-Total-Count", String.valueOf(responseData.totalUsers()))
-                .body(responseData.userDTOList());
+        // Без подсчета (стратегия NONE) вместо X-Total-Count отдаем признак следующей страницы
+        var response = ResponseEntity.ok();
+        if (responseData.totalUsers() != null) {
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(responseData.totalUsers()));
+        } else {
+            response.header(HAS_MORE_HEADER, String.valueOf(responseData.hasMore()));
+        }
+        return response.body(responseData.userDTOList());
     }
 
+    // Бюджет: версия строки для ETag и пользователь
     @GetMapping("/{id}")
     @PreAuthorize("#id == authentication.principal.claims['userId']")
-    public ResponseEntity<UserDTO> show(@PathVariable("id") Long id) {
+    @SqlBudget(2)
+    public ResponseEntity<UserDTO> show(@PathVariable("id") Long id, WebRequest request) {
+        var etag = tableVersionService.entityTag(TableVersionService.USERS, id);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
         var user = userService.findById(id);
         return ResponseEntity.ok()
                 .body(user);
@@ -92,9 +131,12 @@ public class UserApiController {
                 .body(updatedUser);
     }
 
+    // Бюджет: email для сброса кэша, сам DELETE с проверкой задач запросом не считается.
+    // При отказе - еще проверка, что пользователь есть, и число его задач для сообщения
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @PreAuthorize("#id == authentication.principal.claims['userId']")
+    @SqlBudget(3)
     public void delete(@PathVariable("id") Long id) {
         userService.delete(id);
     }
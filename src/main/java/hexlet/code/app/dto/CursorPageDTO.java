@@ -0,0 +1,8 @@
+package hexlet.code.app.dto;
+
+import java.util.List;
+
+public record CursorPageDTO<T>(
+        List<T> content,
+        String nextCursor
+) { }
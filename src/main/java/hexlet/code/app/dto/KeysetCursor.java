@@ -0,0 +1,17 @@
+package hexlet.code.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.domain.Sort;
+
+// Позиция в выборке: колонка сортировки, направление и ключ последней отданной записи
+public record KeysetCursor(
+        String sort,
+        Sort.Direction order,
+        String value,
+        Long id
+) {
+    @JsonIgnore
+    public boolean isFirstPage() {
+        return id == null;
+    }
+}
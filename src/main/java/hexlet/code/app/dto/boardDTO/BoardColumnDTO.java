@@ -0,0 +1,13 @@
+package hexlet.code.app.dto.boardDTO;
+
+import hexlet.code.app.dto.taskDTO.TaskDTO;
+
+import java.util.List;
+
+public record BoardColumnDTO(
+        Long id,
+        String name,
+        String slug,
+        long totalTasks,
+        List<TaskDTO> tasks
+) { }
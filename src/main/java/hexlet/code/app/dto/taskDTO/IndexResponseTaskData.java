@@ -0,0 +1,9 @@
+package hexlet.code.app.dto.taskDTO;
+
+import java.util.List;
+
+public record IndexResponseTaskData(
+        List<TaskDTO> taskDTOList,
+        Long totalTasks,
+        boolean hasMore
+) { }
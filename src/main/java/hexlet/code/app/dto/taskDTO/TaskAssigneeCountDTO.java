@@ -0,0 +1,7 @@
+package hexlet.code.app.dto.taskDTO;
+
+public record TaskAssigneeCountDTO(
+        Long id,
+        String email,
+        long count
+) { }
@@ -0,0 +1,9 @@
+package hexlet.code.app.dto.taskDTO;
+
+// Результат одного элемента пакетного запроса: index - позиция в запросе, status - HTTP-код элемента
+public record TaskBatchResultDTO(
+        int index,
+        Long id,
+        int status,
+        String error
+) { }
@@ -0,0 +1,13 @@
+package hexlet.code.app.dto.taskDTO;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+public record TaskBatchUpdateDTO(
+        @NotNull(message = "Id задачи обязателен")
+        Long id,
+
+        @NotNull(message = "Изменения задачи обязательны")
+        @Valid
+        TaskPartiallyUpdateDTO task
+) { }
@@ -0,0 +1,17 @@
+package hexlet.code.app.dto.taskDTO;
+
+import java.time.LocalDateTime;
+
+// Строка доски: статус, число его задач под фильтром и одна задача из первых N (id == null - задач нет)
+public record TaskBoardRow(
+        Long statusId,
+        String statusName,
+        String statusSlug,
+        long total,
+        Long id,
+        Integer index,
+        Long assigneeId,
+        String title,
+        String content,
+        LocalDateTime createdAt
+) { }
@@ -0,0 +1,18 @@
+package hexlet.code.app.dto.taskDTO;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+// Операция над всеми задачами под фильтром: delete, move (status), reassign (assigneeId, null - снять),
+// add_label и remove_label (labelId)
+public record TaskBulkDTO(
+        @NotBlank(message = "Операция не может быть пустой")
+        String action,
+
+        @NotNull(message = "Фильтр обязателен")
+        TaskParamsDTO filter,
+
+        String status,
+        Long assigneeId,
+        Long labelId
+) { }
@@ -0,0 +1,9 @@
+package hexlet.code.app.dto.taskDTO;
+
+// matched - задач под фильтром, affected - измененных строк (задача уже в целевом состоянии не считается)
+public record TaskBulkResultDTO(
+        String action,
+        long matched,
+        long affected,
+        int chunks
+) { }
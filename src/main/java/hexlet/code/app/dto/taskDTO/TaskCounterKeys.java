@@ -0,0 +1,7 @@
+package hexlet.code.app.dto.taskDTO;
+
+// Статус и исполнитель задачи - ключи счетчиков, которые нужно поправить при удалении мимо сессии
+public record TaskCounterKeys(
+        Long statusId,
+        Long assigneeId
+) { }
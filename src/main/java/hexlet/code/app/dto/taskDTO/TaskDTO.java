@@ -3,6 +3,7 @@ package hexlet.code.app.dto.taskDTO;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public record TaskDTO(
         Long id,
@@ -13,5 +14,6 @@ public record TaskDTO(
 
         @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
         LocalDateTime createdAt,
-        String status
+        String status,
+        List<Long> taskLabelIds
 ) { }
@@ -0,0 +1,14 @@
+package hexlet.code.app.dto.taskDTO;
+
+import java.time.LocalDateTime;
+
+// Строка выгрузки: только колонки, без сущностей, чтобы контекст персистентности не рос
+public record TaskExportRow(
+        Long id,
+        Integer index,
+        Long assigneeId,
+        String title,
+        String content,
+        LocalDateTime createdAt,
+        String status
+) { }
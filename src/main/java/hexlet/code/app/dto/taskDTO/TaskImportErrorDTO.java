@@ -0,0 +1,7 @@
+package hexlet.code.app.dto.taskDTO;
+
+// record - номер строки NDJSON или записи CSV (заголовок - 1)
+public record TaskImportErrorDTO(
+        long record,
+        String error
+) { }
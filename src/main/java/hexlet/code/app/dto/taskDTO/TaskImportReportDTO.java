@@ -0,0 +1,11 @@
+package hexlet.code.app.dto.taskDTO;
+
+import java.util.List;
+
+// Итог загрузки: errors ограничен app.batch.import-max-errors, failed считает все ошибки
+public record TaskImportReportDTO(
+        long records,
+        long imported,
+        long failed,
+        List<TaskImportErrorDTO> errors
+) { }
@@ -0,0 +1,11 @@
+package hexlet.code.app.dto.taskDTO;
+
+import java.util.List;
+
+// Сводка по счетчикам: всего задач, без исполнителя, по статусам (включая пустые) и по исполнителям
+public record TaskStatsDTO(
+        long total,
+        long unassigned,
+        List<TaskStatusCountDTO> byStatus,
+        List<TaskAssigneeCountDTO> byAssignee
+) { }
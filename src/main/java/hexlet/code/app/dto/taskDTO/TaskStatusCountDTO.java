@@ -0,0 +1,8 @@
+package hexlet.code.app.dto.taskDTO;
+
+public record TaskStatusCountDTO(
+        Long id,
+        String slug,
+        String name,
+        long count
+) { }
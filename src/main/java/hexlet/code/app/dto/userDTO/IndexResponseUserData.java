@@ -4,5 +4,6 @@ import java.util.List;
 
 public record IndexResponseUserData(
         List<UserDTO> userDTOList,
-        Long totalUsers
+        Long totalUsers,
+        boolean hasMore
 ) { }
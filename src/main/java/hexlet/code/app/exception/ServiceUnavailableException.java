@@ -0,0 +1,7 @@
+package hexlet.code.app.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -1,14 +1,19 @@
 package hexlet.code.app.handler;
 
+import hexlet.code.app.exception.BadRequestException;
 import hexlet.code.app.exception.ConflictException;
 import hexlet.code.app.exception.EmailAlreadyExistsException;
 import hexlet.code.app.exception.ResourceNotFoundException;
 import hexlet.code.app.exception.ResourceAlreadyExistsException;
+import hexlet.code.app.exception.ServiceUnavailableException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -46,4 +51,27 @@ public class GlobalExceptionHandler {
     public ResponseEntity<Map<String, String>> handleConflictException(ConflictException ex) {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", ex.getMessage()));
     }
+
+    // Версии сущностей при записи не сверяются, сюда попадает лишь merge устаревшей отсоединенной копии.
+    // С If-Match клиент сам просил условную запись, поэтому 412, иначе - 409
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, WebRequest request) {
+        var status = request.getHeader(HttpHeaders.IF_MATCH) == null
+                ? HttpStatus.CONFLICT
+                : HttpStatus.PRECONDITION_FAILED;
+        return ResponseEntity.status(status).body(Map.of("error", "Запись изменена другим запросом, повторите"));
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleBadRequestException(BadRequestException ex) {
+        return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
 }
@@ -4,6 +4,7 @@ import hexlet.code.app.dto.taskDTO.TaskCreateDTO;
 import hexlet.code.app.dto.taskDTO.TaskDTO;
 import hexlet.code.app.dto.taskDTO.TaskFullUpdateDTO;
 import hexlet.code.app.dto.taskDTO.TaskPartiallyUpdateDTO;
+import hexlet.code.app.model.label.Label;
 import hexlet.code.app.model.task.Task;
 import hexlet.code.app.model.taskStatus.TaskStatus;
 import hexlet.code.app.model.user.User;
@@ -20,6 +21,9 @@ import org.mapstruct.Named;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
+import java.util.Set;
+
 @Mapper(
         uses = {JsonNullableMapper.class},
         nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE,
@@ -45,6 +49,7 @@ public abstract class TaskMapper {
     @Mapping(source = "description", target = "content")
     @Mapping(source = "assignee", target = "assignee_id", qualifiedByName = "assigneeToAssigneeId")
     @Mapping(source = "taskStatus", target = "status", qualifiedByName = "statusToSlug")
+    @Mapping(source = "labels", target = "taskLabelIds", qualifiedByName = "labelsToLabelIds")
     public abstract TaskDTO toDto(Task model);
 
     @Mapping(source = "title", target = "name")
@@ -67,6 +72,11 @@ public abstract class TaskMapper {
 
     @Named("assigneeToAssigneeId")
     protected Long assigneeToAssigneeId(User assignee) {
-        return assignee.getId();
+        return assignee == null ? null : assignee.getId();
+    }
+
+    @Named("labelsToLabelIds")
+    protected List<Long> labelsToLabelIds(Set<Label> labels) {
+        return labels == null ? null : labels.stream().map(Label::getId).sorted().toList();
     }
 }
@@ -1,4 +1,7 @@
 package hexlet.code.app.model;
 
 public class BaseEntity {
+    // Шаг последовательностей id: столько id Hibernate резервирует за один nextval.
+    // Должен совпадать с INCREMENT BY последовательности в базе
+    public static final int ID_ALLOCATION_SIZE = 50;
 }
@@ -1,6 +1,10 @@
 package hexlet.code.app.model.label;
 
+import hexlet.code.app.config.HibernateCacheConfig;
+import hexlet.code.app.model.BaseEntity;
 import hexlet.code.app.model.task.Task;
+import hexlet.code.app.service.ReferenceDataCacheListener;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -8,12 +12,19 @@ import jakarta.persistence.Table;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import jakarta.persistence.ManyToMany;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OptimisticLockType;
+import org.hibernate.annotations.OptimisticLocking;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
@@ -26,12 +37,17 @@ import java.util.Set;
 
 @Entity
 @Table(name = "labels")
-@EntityListeners(AuditingEntityListener.class)
+@OptimisticLocking(type = OptimisticLockType.NONE)
+@EntityListeners({AuditingEntityListener.class, ReferenceDataCacheListener.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.LABELS_REGION)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Label {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "labels_seq")
+    @SequenceGenerator(name = "labels_seq", sequenceName = "labels_seq",
+            allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -42,7 +58,14 @@ public class Label {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Версия для ETag без проверки при записи, как у Task
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Задачи не входят в версию: иначе каждая новая задача меняла бы версию и ETag метки
     @ManyToMany(mappedBy = "labels")
+    @OptimisticLock(excluded = true)
     private Set<Task> tasks;
 
     public void addTask(Task task) {
@@ -1,8 +1,10 @@
 package hexlet.code.app.model.task;
 
+import hexlet.code.app.model.BaseEntity;
 import hexlet.code.app.model.label.Label;
 import hexlet.code.app.model.taskStatus.TaskStatus;
 import hexlet.code.app.model.user.User;
+import hexlet.code.app.service.TaskSearchListener;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
@@ -13,6 +15,8 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.FetchType;
 
@@ -22,6 +26,9 @@ import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.OptimisticLockType;
+import org.hibernate.annotations.OptimisticLocking;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
@@ -36,10 +43,13 @@ import java.util.Set;
 
 @Entity
 @Table(name = "tasks")
-@EntityListeners(AuditingEntityListener.class)
+@OptimisticLocking(type = OptimisticLockType.NONE)
+@EntityListeners({AuditingEntityListener.class, TaskSearchListener.class})
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq",
+            allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -67,6 +77,12 @@ public class Task {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Растет с каждым изменением строки, из него строится ETag. Это не блокировка: при OptimisticLockType.NONE
+    // версия в UPDATE не сверяется, одновременные правки, как и до ETag, - побеждает последняя
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Добавление Label
     public void addLabel(Label label) {
         if (this.labels == null) {
@@ -75,14 +91,19 @@ public class Task {
 
         if (!this.labels.contains(label)) {
             this.labels.add(label);
-            label.addTask(this);
+            // Незагруженная ссылка на метку сама прочитает связь из базы, грузить ее ради этого не нужно
+            if (Hibernate.isInitialized(label)) {
+                label.addTask(this);
+            }
         }
     }
 
     public void removeLabel(Label label) {
         if (this.labels.contains(label)) {
             this.labels.remove(label);
-            label.removeTask(this);
+            if (Hibernate.isInitialized(label)) {
+                label.removeTask(this);
+            }
         }
     }
 
@@ -1,5 +1,9 @@
 package hexlet.code.app.model.taskStatus;
 
+import hexlet.code.app.config.HibernateCacheConfig;
+import hexlet.code.app.model.BaseEntity;
+import hexlet.code.app.service.ReferenceDataCacheListener;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
@@ -7,6 +11,8 @@ import jakarta.persistence.Table;
 import jakarta.persistence.Column;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -14,6 +20,10 @@ import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OptimisticLockType;
+import org.hibernate.annotations.OptimisticLocking;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -26,10 +36,15 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "task_statuses")
-@EntityListeners(AuditingEntityListener.class)
+@OptimisticLocking(type = OptimisticLockType.NONE)
+@EntityListeners({AuditingEntityListener.class, ReferenceDataCacheListener.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.TASK_STATUSES_REGION)
 public class TaskStatus {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_statuses_seq")
+    @SequenceGenerator(name = "task_statuses_seq", sequenceName = "task_statuses_seq",
+            allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -43,4 +58,9 @@ public class TaskStatus {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Версия для ETag без проверки при записи, как у Task
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
 }
@@ -11,6 +11,8 @@ import jakarta.persistence.Column;
 import jakarta.persistence.OneToMany;
 
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.Builder;
@@ -18,6 +20,9 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.OptimisticLockType;
+import org.hibernate.annotations.OptimisticLocking;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -36,12 +41,15 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@OptimisticLocking(type = OptimisticLockType.NONE)
 @EntityListeners(AuditingEntityListener.class)
 @NoArgsConstructor
 @AllArgsConstructor
 public class User extends BaseEntity implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq",
+            allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
     @EqualsAndHashCode.Include
     private Long id;
     private String firstName;
@@ -51,7 +59,9 @@ public class User extends BaseEntity implements UserDetails {
     private String email;
 
     @Column
+    // Задачи не входят в версию: иначе каждая новая задача меняла бы версию и ETag исполнителя
     @OneToMany(mappedBy = "assignee")
+    @OptimisticLock(excluded = true)
     private Set<Task> tasks;
 
     public Set<Task> getTasks() {
@@ -71,6 +81,11 @@ public class User extends BaseEntity implements UserDetails {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    // Версия для ETag без проверки при записи, как у Task
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Добавление Task
     public void addTask(Task task) {
         getTasks().add(task);  // Всегда используем геттер!
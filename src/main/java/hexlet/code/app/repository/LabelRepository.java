@@ -1,11 +1,34 @@
 package hexlet.code.app.repository;
 
 import hexlet.code.app.model.label.Label;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface LabelRepository extends JpaRepository<Label, Long> {
+    // Результат кэшируется до ближайшего изменения таблицы labels
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Label> findByName(String name);
+
     Boolean existsByName(String name);
+
+    // Только id: сами метки для связи не нужны
+    @Query("select l.id from Label l where l.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Проверка на связи в том же DELETE: 0 - метки нет или она висит на задачах
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Label l where l.id = :id"
+            + " and not exists (select t.id from Task t join t.labels tl where tl.id = :id)")
+    int deleteIfUnused(@Param("id") Long id);
 }
@@ -0,0 +1,42 @@
+package hexlet.code.app.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Выборка по спецификации (может быть null) с limit/offset, но без count-запроса,
+// который всегда выполняет findAll(spec, pageable)
+@Repository
+public class SliceQueryRepository {
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    public <T> List<T> findSlice(Class<T> type, Specification<T> spec, Sort sort,
+                                 long offset, int limit, String... fetchAttributes) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(type);
+        var root = query.from(type);
+        var predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        var typedQuery = entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit);
+        if (fetchAttributes.length > 0) {
+            var graph = entityManager.createEntityGraph(type);
+            graph.addAttributeNodes(fetchAttributes);
+            typedQuery.setHint(FETCH_GRAPH_HINT, graph);
+        }
+        return typedQuery.getResultList();
+    }
+}
@@ -0,0 +1,49 @@
+package hexlet.code.app.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Отметки изменений таблиц (table_versions) и версии отдельных строк для ETag - без загрузки сущностей
+@Repository
+public class TableVersionRepository {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Таблицы по возрастанию имени: параллельные транзакции блокируют строки отметок в одном порядке
+    public void increment(Collection<String> tables) {
+        var batch = tables.stream()
+                .sorted()
+                .map(table -> new MapSqlParameterSource("table", table))
+                .toArray(MapSqlParameterSource[]::new);
+        if (batch.length == 0) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE table_versions SET version = version + 1 WHERE table_name = :table", batch);
+    }
+
+    public Map<String, Long> findVersions(Collection<String> tables) {
+        var versions = new HashMap<String, Long>();
+        jdbcTemplate.query("SELECT table_name, version FROM table_versions WHERE table_name IN (:tables)",
+                new MapSqlParameterSource("tables", tables),
+                rs -> {
+                    versions.put(rs.getString("table_name"), rs.getLong("version"));
+                });
+        return versions;
+    }
+
+    // table - одна из таблиц TableVersionService, не пользовательский ввод
+    public Optional<Long> findRowVersion(String table, Long id) {
+        List<Long> versions = jdbcTemplate.queryForList("SELECT version FROM " + table + " WHERE id = :id",
+                new MapSqlParameterSource("id", id), Long.class);
+        return versions.stream().findFirst();
+    }
+}
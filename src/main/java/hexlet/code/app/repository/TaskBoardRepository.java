@@ -0,0 +1,65 @@
+package hexlet.code.app.repository;
+
+import hexlet.code.app.dto.taskDTO.TaskBoardRow;
+import hexlet.code.app.dto.taskDTO.TaskParamsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+// Доска одним запросом: задачи под фильтром нумеруются внутри своего статуса оконной функцией,
+// от каждого статуса берутся первые limit строк. Итог колонки - отдельный count(*) по статусу,
+// он не зависит от limit (и при limit = 0 тоже верен). Статусы без показанных задач приходят одной строкой
+// с пустой задачей
+@Repository
+public class TaskBoardRepository {
+    private static final String BOARD_SQL = """
+            SELECT s.id AS status_id, s.name AS status_name, s.slug AS status_slug,
+                   coalesce(c.total, 0) AS total,
+                   r.id, r.index, r.assignee_id, r.name, r.description, r.created_at
+            FROM task_statuses s
+            LEFT JOIN (
+                SELECT t.task_status_id, count(*) AS total
+                FROM tasks t
+                WHERE %1$s
+                GROUP BY t.task_status_id
+            ) c ON c.task_status_id = s.id
+            LEFT JOIN (
+                SELECT t.id, t.index, t.assignee_id, t.name, t.description, t.created_at, t.task_status_id,
+                       row_number() OVER (PARTITION BY t.task_status_id ORDER BY t.index NULLS LAST, t.id) AS position
+                FROM tasks t
+                WHERE %1$s
+            ) r ON r.task_status_id = s.id AND r.position <= :limit
+            ORDER BY s.id, r.position
+            """;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Те же фильтры, что у TaskSpecification, кроме статуса: колонки доски - это и есть статусы
+    public List<TaskBoardRow> findBoard(TaskParamsDTO params, int limit) {
+        var sqlParams = new MapSqlParameterSource("limit", limit);
+        var filter = new TaskParamsDTO(params.titleCont(), params.assigneeId(), null, params.labelId());
+        var where = TaskFilterSql.where(filter, sqlParams);
+        return jdbcTemplate.query(BOARD_SQL.formatted(where), sqlParams, this::toRow);
+    }
+
+    private TaskBoardRow toRow(ResultSet rs, int rowNum) throws SQLException {
+        var createdAt = rs.getTimestamp("created_at");
+        return new TaskBoardRow(
+                rs.getLong("status_id"),
+                rs.getString("status_name"),
+                rs.getString("status_slug"),
+                rs.getLong("total"),
+                rs.getObject("id", Long.class),
+                rs.getObject("index", Integer.class),
+                rs.getObject("assignee_id", Long.class),
+                rs.getString("name"),
+                rs.getString("description"),
+                createdAt == null ? null : createdAt.toLocalDateTime());
+    }
+}
@@ -0,0 +1,119 @@
+package hexlet.code.app.repository;
+
+import hexlet.code.app.dto.taskDTO.TaskParamsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Множественные изменения задач по фильтру: чанк id выбирается по ключу, изменения - одним оператором на чанк.
+// Запросы идут мимо Hibernate: версию строки увеличивают сами, счетчики, поисковый индекс
+// и отметку таблицы поправляет TaskBulkService
+@Repository
+public class TaskBulkRepository {
+    private static final String IDS_SQL = """
+            SELECT t.id FROM tasks t
+            WHERE t.id > :after AND %s
+            ORDER BY t.id
+            LIMIT :limit
+            """;
+    // Строки чанка, которые все еще под фильтром, блокируются до конца транзакции чанка по возрастанию id,
+    // как и счетчики: параллельная запись не сменит статус или исполнителя между подсчетом и изменением
+    private static final String LOCK_SQL = """
+            SELECT t.id FROM tasks t
+            WHERE t.id IN (:ids) AND %s
+            ORDER BY t.id
+            FOR UPDATE
+            """;
+    // В исполнителе null - снять исполнителя, поэтому сравнение через IS DISTINCT FROM
+    private static final String REASSIGN_SQL = """
+            UPDATE tasks SET assignee_id = CAST(:assigneeId AS BIGINT), version = version + 1
+            WHERE id IN (:ids) AND assignee_id IS DISTINCT FROM CAST(:assigneeId AS BIGINT)
+            """;
+    private static final String ADD_LABEL_SQL = """
+            INSERT INTO task_labels (task_id, label_id)
+            SELECT t.id, :labelId FROM tasks t
+            WHERE t.id IN (:ids)
+              AND NOT EXISTS (SELECT 1 FROM task_labels tl WHERE tl.task_id = t.id AND tl.label_id = :labelId)
+            """;
+    // Метки входят в представление задачи, поэтому их смена увеличивает версию, как и у Hibernate
+    private static final String LABEL_VERSION_SQL = """
+            UPDATE tasks SET version = version + 1
+            WHERE id IN (:ids)
+              AND %s (SELECT 1 FROM task_labels tl WHERE tl.task_id = tasks.id AND tl.label_id = :labelId)
+            """;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Следующие limit id под фильтром после after
+    public List<Long> findIds(TaskParamsDTO filter, long after, int limit) {
+        var params = new MapSqlParameterSource()
+                .addValue("after", after)
+                .addValue("limit", limit);
+        var where = TaskFilterSql.where(filter, params);
+        return jdbcTemplate.queryForList(IDS_SQL.formatted(where), params, Long.class);
+    }
+
+    // Заблокированные id чанка; задачи, удаленные или выведенные из-под фильтра после выборки, пропускаются
+    public List<Long> lockIds(TaskParamsDTO filter, List<Long> ids) {
+        var params = new MapSqlParameterSource("ids", ids);
+        var where = TaskFilterSql.where(filter, params);
+        return jdbcTemplate.queryForList(LOCK_SQL.formatted(where), params, Long.class);
+    }
+
+    // Число задач чанка по статусу или исполнителю - для счетчиков; ключ null - задачи без исполнителя.
+    // Читается после lockIds, поэтому совпадает с тем, что изменят следующие операторы
+    public Map<Long, Long> countByStatus(List<Long> ids) {
+        return countBy("task_status_id", ids);
+    }
+
+    public Map<Long, Long> countByAssignee(List<Long> ids) {
+        return countBy("assignee_id", ids);
+    }
+
+    public int delete(List<Long> ids) {
+        var params = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update("DELETE FROM task_labels WHERE task_id IN (:ids)", params);
+        return jdbcTemplate.update("DELETE FROM tasks WHERE id IN (:ids)", params);
+    }
+
+    public int move(List<Long> ids, Long statusId) {
+        return jdbcTemplate.update(
+                "UPDATE tasks SET task_status_id = :statusId, version = version + 1"
+                        + " WHERE id IN (:ids) AND task_status_id <> :statusId",
+                new MapSqlParameterSource("ids", ids).addValue("statusId", statusId));
+    }
+
+    public int reassign(List<Long> ids, Long assigneeId) {
+        return jdbcTemplate.update(REASSIGN_SQL,
+                new MapSqlParameterSource("ids", ids).addValue("assigneeId", assigneeId));
+    }
+
+    public int addLabel(List<Long> ids, Long labelId) {
+        var params = new MapSqlParameterSource("ids", ids).addValue("labelId", labelId);
+        jdbcTemplate.update(LABEL_VERSION_SQL.formatted("NOT EXISTS"), params);
+        return jdbcTemplate.update(ADD_LABEL_SQL, params);
+    }
+
+    public int removeLabel(List<Long> ids, Long labelId) {
+        var params = new MapSqlParameterSource("ids", ids).addValue("labelId", labelId);
+        jdbcTemplate.update(LABEL_VERSION_SQL.formatted("EXISTS"), params);
+        return jdbcTemplate.update("DELETE FROM task_labels WHERE label_id = :labelId AND task_id IN (:ids)", params);
+    }
+
+    private Map<Long, Long> countBy(String column, List<Long> ids) {
+        var counts = new HashMap<Long, Long>();
+        jdbcTemplate.query(
+                "SELECT " + column + " AS key_id, count(*) AS cnt FROM tasks WHERE id IN (:ids) GROUP BY " + column,
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    counts.put(rs.getObject("key_id", Long.class), rs.getLong("cnt"));
+                });
+        return counts;
+    }
+}
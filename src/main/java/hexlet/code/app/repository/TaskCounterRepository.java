@@ -0,0 +1,110 @@
+package hexlet.code.app.repository;
+
+import hexlet.code.app.dto.taskDTO.TaskAssigneeCountDTO;
+import hexlet.code.app.dto.taskDTO.TaskStatusCountDTO;
+import hexlet.code.app.util.DatabaseUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+// Таблицы task_status_counts и task_assignee_counts: приращения одним upsert на ключ, чтение и пересчет.
+// PostgreSQL 13 не знает MERGE, H2 - ON CONFLICT DO UPDATE, поэтому upsert у каждой базы свой
+@Repository
+public class TaskCounterRepository {
+    private static final String POSTGRES_UPSERT = """
+            INSERT INTO %1$s (%2$s, task_count) VALUES (:id, :delta)
+            ON CONFLICT (%2$s) DO UPDATE SET task_count = %1$s.task_count + EXCLUDED.task_count
+            """;
+    private static final String MERGE_UPSERT = """
+            MERGE INTO %1$s c
+            USING (VALUES (CAST(:id AS BIGINT), CAST(:delta AS BIGINT))) AS v(id, delta)
+            ON c.%2$s = v.id
+            WHEN MATCHED THEN UPDATE SET task_count = c.task_count + v.delta
+            WHEN NOT MATCHED THEN INSERT (%2$s, task_count) VALUES (v.id, v.delta)
+            """;
+    private static final String STATUS_COUNTS_SQL = """
+            SELECT s.id, s.slug, s.name, coalesce(c.task_count, 0) AS task_count
+            FROM task_statuses s
+            LEFT JOIN task_status_counts c ON c.task_status_id = s.id
+            ORDER BY s.id
+            """;
+    private static final String ASSIGNEE_COUNTS_SQL = """
+            SELECT u.id, u.email, c.task_count
+            FROM task_assignee_counts c
+            JOIN users u ON u.id = c.assignee_id
+            WHERE c.task_count > 0
+            ORDER BY c.task_count DESC, u.id
+            """;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatabaseUtils databaseUtils;
+
+    // Ключи идут по возрастанию: параллельные транзакции блокируют строки в одном порядке и не ждут друг друга по кругу
+    public void addToStatuses(Map<Long, Long> deltas) {
+        add(Table.STATUS, deltas);
+    }
+
+    public void addToAssignees(Map<Long, Long> deltas) {
+        add(Table.ASSIGNEE, deltas);
+    }
+
+    public List<TaskStatusCountDTO> findStatusCounts() {
+        return jdbcTemplate.query(STATUS_COUNTS_SQL, (rs, rowNum) -> new TaskStatusCountDTO(
+                rs.getLong("id"), rs.getString("slug"), rs.getString("name"), rs.getLong("task_count")));
+    }
+
+    public List<TaskAssigneeCountDTO> findAssigneeCounts() {
+        return jdbcTemplate.query(ASSIGNEE_COUNTS_SQL, (rs, rowNum) -> new TaskAssigneeCountDTO(
+                rs.getLong("id"), rs.getString("email"), rs.getLong("task_count")));
+    }
+
+    // Пересчет из tasks целиком в текущей транзакции
+    public void rebuild() {
+        var params = new MapSqlParameterSource();
+        jdbcTemplate.update("DELETE FROM task_status_counts", params);
+        jdbcTemplate.update("DELETE FROM task_assignee_counts", params);
+        jdbcTemplate.update("""
+                INSERT INTO task_status_counts (task_status_id, task_count)
+                SELECT task_status_id, count(*) FROM tasks GROUP BY task_status_id
+                """, params);
+        jdbcTemplate.update("""
+                INSERT INTO task_assignee_counts (assignee_id, task_count)
+                SELECT assignee_id, count(*) FROM tasks WHERE assignee_id IS NOT NULL GROUP BY assignee_id
+                """, params);
+    }
+
+    private void add(Table table, Map<Long, Long> deltas) {
+        var batch = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("id", entry.getKey())
+                        .addValue("delta", entry.getValue()))
+                .toArray(MapSqlParameterSource[]::new);
+        if (batch.length == 0) {
+            return;
+        }
+        var template = databaseUtils.isPostgres() ? POSTGRES_UPSERT : MERGE_UPSERT;
+        jdbcTemplate.batchUpdate(template.formatted(table.name, table.key), batch);
+    }
+
+    private enum Table {
+        STATUS("task_status_counts", "task_status_id"),
+        ASSIGNEE("task_assignee_counts", "assignee_id");
+
+        private final String name;
+        private final String key;
+
+        Table(String name, String key) {
+            this.name = name;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package hexlet.code.app.repository;
+
+import hexlet.code.app.dto.taskDTO.TaskExportRow;
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.model.user.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Потоковое чтение задач для выгрузки: однонаправленный курсор с fetch size, строки - DTO, а не сущности.
+// Поток нужно читать внутри транзакции и закрывать
+@Repository
+public class TaskExportRepository {
+    private static final int FETCH_SIZE = 1000;
+    private static final String LABEL_IDS_QUERY =
+            "select t.id, l.id from Task t join t.labels l where t.id in :ids order by l.id";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    public Stream<TaskExportRow> streamRows(Specification<Task> spec) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(TaskExportRow.class);
+        var root = query.from(Task.class);
+        Join<Task, TaskStatus> status = root.join("taskStatus");
+        Join<Task, User> assignee = root.join("assignee", JoinType.LEFT);
+        var predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.construct(TaskExportRow.class,
+                        root.get("id"),
+                        root.get("index"),
+                        assignee.get("id"),
+                        root.get("name"),
+                        root.get("description"),
+                        root.get("createdAt"),
+                        status.get("slug")))
+                .orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    // id меток для порции задач: task id -> отсортированные id меток
+    public Map<Long, List<Long>> findLabelIds(Collection<Long> taskIds) {
+        var rows = entityManager.createQuery(LABEL_IDS_QUERY, Object[].class)
+                .setParameter("ids", taskIds)
+                .getResultList();
+        var labelIds = new HashMap<Long, List<Long>>();
+        for (var row : rows) {
+            labelIds.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+        }
+        return labelIds;
+    }
+}
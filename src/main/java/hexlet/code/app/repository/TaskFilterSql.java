@@ -0,0 +1,43 @@
+package hexlet.code.app.repository;
+
+import hexlet.code.app.dto.taskDTO.TaskParamsDTO;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+// Фильтры TaskSpecification в виде SQL-условия по tasks t для запросов через JdbcTemplate
+final class TaskFilterSql {
+
+    private TaskFilterSql() {
+    }
+
+    // Условие без фильтров - "1 = 1"; значения параметров добавляются в sqlParams
+    static String where(TaskParamsDTO params, MapSqlParameterSource sqlParams) {
+        var conditions = new ArrayList<String>();
+        if (params.titleCont() != null && !params.titleCont().isBlank()) {
+            conditions.add("lower(t.name) LIKE :title ESCAPE '\\'");
+            sqlParams.addValue("title", "%" + escapeLike(params.titleCont().trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (params.assigneeId() != null) {
+            conditions.add("t.assignee_id = :assigneeId");
+            sqlParams.addValue("assigneeId", params.assigneeId());
+        }
+        // Как в TaskSpecification: status - шаблон LIKE по слагу в нижнем регистре, сам шаблон не меняется
+        if (params.status() != null) {
+            conditions.add("t.task_status_id IN (SELECT s.id FROM task_statuses s WHERE lower(s.slug) LIKE :status)");
+            sqlParams.addValue("status", params.status());
+        }
+        if (params.labelId() != null) {
+            conditions.add("EXISTS (SELECT 1 FROM task_labels tl WHERE tl.task_id = t.id AND tl.label_id = :labelId)");
+            sqlParams.addValue("labelId", params.labelId());
+        }
+        return conditions.isEmpty() ? "1 = 1" : String.join(" AND ", conditions);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
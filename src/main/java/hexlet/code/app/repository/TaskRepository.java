@@ -1,9 +1,45 @@
 package hexlet.code.app.repository;
 
+import hexlet.code.app.dto.taskDTO.TaskCounterKeys;
 import hexlet.code.app.model.task.Task;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
 
+    @EntityGraph(attributePaths = {"taskStatus", "assignee", "labels"})
+    Optional<Task> findWithRelationsById(Long id);
+
+    // Догружает метки для уже загруженных задач одним запросом
+    @Query("select t from Task t left join fetch t.labels where t.id in :ids")
+    List<Task> findAllWithLabelsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Внешние ключи без join и без загрузки задачи
+    @Query("select new hexlet.code.app.dto.taskDTO.TaskCounterKeys(t.taskStatus.id, t.assignee.id)"
+            + " from Task t where t.id = :id")
+    Optional<TaskCounterKeys> findCounterKeysById(@Param("id") Long id);
+
+    // Число задач для сообщений об отказе в удалении статуса, исполнителя или метки
+    long countByTaskStatusId(Long statusId);
+
+    long countByAssigneeId(Long assigneeId);
+
+    @Query("select count(t) from Task t join t.labels l where l.id = :labelId")
+    long countByLabelId(@Param("labelId") Long labelId);
+
+    // Одним DELETE без загрузки задачи и коллекции задач исполнителя; строки task_labels Hibernate удаляет сам.
+    // Слушатели сущностей не срабатывают, контекст очищается, чтобы в нем не осталось удаленных сущностей
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Task t where t.id = :id")
+    int deleteDirectlyById(@Param("id") Long id);
 }
@@ -0,0 +1,49 @@
+package hexlet.code.app.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Поиск задач на PostgreSQL через pg_trgm: отбор по GIN-индексам на lower(name) и lower(description),
+// ранжирование по триграммному сходству, название весит больше описания.
+// Без pg_trgm - простой LIKE по подстроке: совпадения в названии выше совпадений в описании
+@Repository
+public class TaskSearchRepository {
+    private static final String SEARCH_SQL = """
+            SELECT id FROM tasks
+            WHERE lower(name) LIKE :pattern
+               OR lower(coalesce(description, '')) LIKE :pattern
+               OR lower(name) % :query
+            ORDER BY greatest(similarity(lower(name), :query),
+                              0.5 * similarity(lower(coalesce(description, '')), :query)) DESC, id
+            LIMIT :limit
+            """;
+    private static final String PLAIN_SEARCH_SQL = """
+            SELECT id FROM tasks
+            WHERE lower(name) LIKE :pattern
+               OR lower(coalesce(description, '')) LIKE :pattern
+            ORDER BY CASE WHEN lower(name) LIKE :pattern THEN 0 ELSE 1 END, id
+            LIMIT :limit
+            """;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<Long> search(String query, String pattern, int limit) {
+        var params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("pattern", pattern)
+                .addValue("limit", limit);
+        return jdbcTemplate.queryForList(SEARCH_SQL, params, Long.class);
+    }
+
+    public List<Long> searchPlain(String pattern, int limit) {
+        var params = new MapSqlParameterSource()
+                .addValue("pattern", pattern)
+                .addValue("limit", limit);
+        return jdbcTemplate.queryForList(PLAIN_SEARCH_SQL, params, Long.class);
+    }
+}
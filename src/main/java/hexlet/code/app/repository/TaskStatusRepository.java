@@ -1,13 +1,33 @@
 package hexlet.code.app.repository;
 
 import hexlet.code.app.model.taskStatus.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TaskStatusRepository extends JpaRepository<TaskStatus, Long> {
+    // Результат кэшируется до ближайшего изменения таблицы task_statuses
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TaskStatus> findBySlug(String slug);
+
     Boolean existsBySlug(String slug);
+    List<TaskStatus> findAllBySlugIn(Collection<String> slugs);
+
+    // Проверка на задачи в том же DELETE: 0 - статуса нет или в нем есть задачи
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from TaskStatus s where s.id = :id"
+            + " and not exists (select t.id from Task t where t.taskStatus.id = :id)")
+    int deleteIfNoTasks(@Param("id") Long id);
 }
@@ -0,0 +1,64 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.dto.boardDTO.BoardColumnDTO;
+import hexlet.code.app.dto.taskDTO.TaskBoardRow;
+import hexlet.code.app.dto.taskDTO.TaskDTO;
+import hexlet.code.app.dto.taskDTO.TaskParamsDTO;
+import hexlet.code.app.repository.TaskBoardRepository;
+import hexlet.code.app.repository.TaskExportRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Канбан-доска: все статусы с первыми задачами и их числом. Два запроса на любое число колонок:
+// оконный по задачам и догрузка меток показанных задач
+@Service
+@Transactional
+public class BoardService {
+    private static final int MAX_TASKS_PER_COLUMN = 100;
+
+    @Autowired
+    private TaskBoardRepository boardRepository;
+
+    @Autowired
+    private TaskExportRepository exportRepository;
+
+    // === Read ===
+    public List<BoardColumnDTO> getBoard(TaskParamsDTO params, int tasksPerColumn) {
+        var limit = Math.max(0, Math.min(tasksPerColumn, MAX_TASKS_PER_COLUMN));
+        var rows = boardRepository.findBoard(params, limit);
+
+        var taskIds = rows.stream().map(TaskBoardRow::id).filter(Objects::nonNull).toList();
+        var labelIds = taskIds.isEmpty() ? Map.<Long, List<Long>>of() : exportRepository.findLabelIds(taskIds);
+
+        var columns = new LinkedHashMap<Long, Column>();
+        for (var row : rows) {
+            var column = columns.computeIfAbsent(row.statusId(), id -> new Column(row));
+            if (row.id() != null) {
+                column.tasks.add(new TaskDTO(row.id(), row.index(), row.assigneeId(), row.title(), row.content(),
+                        row.createdAt(), row.statusSlug(), labelIds.getOrDefault(row.id(), List.of())));
+            }
+        }
+        return columns.values().stream().map(Column::toDto).toList();
+    }
+
+    private static final class Column {
+        private final TaskBoardRow status;
+        private final List<TaskDTO> tasks = new ArrayList<>();
+
+        Column(TaskBoardRow status) {
+            this.status = status;
+        }
+
+        BoardColumnDTO toDto() {
+            return new BoardColumnDTO(status.statusId(), status.statusName(), status.statusSlug(), status.total(),
+                    tasks);
+        }
+    }
+}
@@ -1,21 +1,39 @@
 package hexlet.code.app.service;
 
 import hexlet.code.app.repository.UserRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("user with username: " + username + " not found"));
     }
+
+    // Вызывается DaoAuthenticationProvider после успешного входа, если хэш устарел:
+    // пароль пересчитан с текущей сложностью и префиксом {bcrypt}
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        var entity = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(
+                        "user with username: " + user.getUsername() + " not found"));
+        entity.setPasswordDigest(newPassword);
+        principalCache.removeUserFromCache(entity.getUsername());
+        return userRepository.save(entity);
+    }
 }
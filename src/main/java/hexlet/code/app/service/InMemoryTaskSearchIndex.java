@@ -0,0 +1,137 @@
+package hexlet.code.app.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Инвертированный индекс задач для баз без триграмм (H2): слово -> (id задачи -> вес).
+// Слова запроса ищутся как префиксы по отсортированному словарю, поэтому время поиска
+// зависит от числа совпадений, а не от числа задач
+@Component
+public class InMemoryTaskSearchIndex {
+    private static final double TITLE_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    // Совпадение по префиксу весит меньше целого слова
+    private static final double PREFIX_FACTOR = 0.5;
+
+    private final NavigableMap<String, Map<Long, Double>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void index(Long id, String title, String description) {
+        var weights = new HashMap<String, Double>();
+        tokenize(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Double::sum));
+        tokenize(title).forEach(term -> weights.merge(term, TITLE_WEIGHT, Double::sum));
+
+        lock.writeLock().lock();
+        try {
+            removeTerms(id);
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, weight));
+            documentTerms.put(id, weights.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Задача должна содержать все слова запроса (целиком или как префикс), выше - совпадения в названии
+    public List<Long> search(String query, int limit) {
+        var terms = tokenize(query).distinct().toList();
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = null;
+        lock.readLock().lock();
+        try {
+            for (var term : terms) {
+                var termScores = new HashMap<Long, Double>();
+                for (var entry : postings.subMap(term, true, term + Character.MAX_VALUE, true).entrySet()) {
+                    var factor = entry.getKey().equals(term) ? 1.0 : PREFIX_FACTOR;
+                    entry.getValue().forEach((id, weight) -> termScores.merge(id, weight * factor, Math::max));
+                }
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private void removeTerms(Long id) {
+        var terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (var term : terms) {
+            var documents = postings.get(term);
+            documents.remove(id);
+            if (documents.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static Stream<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Stream.empty();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty());
+    }
+}
@@ -3,10 +3,12 @@ package hexlet.code.app.service;
 import hexlet.code.app.dto.labelDTO.LabelCreateDTO;
 import hexlet.code.app.dto.labelDTO.LabelDTO;
 import hexlet.code.app.dto.labelDTO.LabelUpdateDTO;
+import hexlet.code.app.exception.ConflictException;
 import hexlet.code.app.exception.ResourceAlreadyExistsException;
 import hexlet.code.app.exception.ResourceNotFoundException;
 import hexlet.code.app.mapper.LabelMapper;
 import hexlet.code.app.repository.LabelRepository;
+import hexlet.code.app.repository.TaskRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -18,9 +20,18 @@ public class LabelService {
     @Autowired
     private LabelRepository labelRepository;
 
+    @Autowired
+    private TaskRepository taskRepository;
+
     @Autowired
     private LabelMapper mapper;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private TableVersionService tableVersionService;
+
     // === Create ===
     public LabelDTO create(LabelCreateDTO labelData) {
         if (labelRepository.existsByName(labelData.name())) {
@@ -55,9 +66,16 @@ public class LabelService {
 
     // === Delete ===
     public void delete(Long id) {
-        if (!labelRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Метки с id: " + id + "не найдено");
+        // Связи с задачами проверяет сам DELETE, existsById - только чтобы объяснить отказ
+        if (labelRepository.deleteIfUnused(id) == 0) {
+            if (!labelRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Метки с id: " + id + "не найдено");
+            }
+            throw new ConflictException(
+                    "Невозможно удалить метку. Она назначена " + taskRepository.countByLabelId(id) + " задачам!");
         }
-        labelRepository.deleteById(id);
+        // DELETE идет мимо ReferenceDataCacheListener и TableVersionListener
+        referenceDataCache.evictLabel(id);
+        tableVersionService.touch(TableVersionService.LABELS);
     }
 }
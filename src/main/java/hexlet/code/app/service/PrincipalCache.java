@@ -0,0 +1,84 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.model.user.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Кэш пользователей для входа по паролю (Basic и /api/login): DaoAuthenticationProvider
+// берет пользователя отсюда и идет в users только при промахе. Запросы с JWT сюда не попадают,
+// их principal собирается из claims токена. Сбрасывается UserService при изменении и удалении
+@Component
+public class PrincipalCache implements UserCache {
+    public static final String PRINCIPALS = "principals";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return getCache().get(username, User.class);
+    }
+
+    // Хранится отсоединенная копия: сущность из закрытой сессии с ленивыми связями в кэш не кладем
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (!(user instanceof User entity)) {
+            return;
+        }
+        var cache = getCache();
+        var copy = copy(entity);
+        // Незакоммиченный пользователь может откатиться, поэтому в кэш он попадает только после коммита
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.put(copy.getUsername(), copy);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(copy.getUsername(), copy);
+            }
+        });
+    }
+
+    // Сбрасываем сразу и еще раз после завершения транзакции,
+    // чтобы параллельный вход не вернул в кэш старую версию
+    @Override
+    public void removeUserFromCache(String username) {
+        var cache = getCache();
+        cache.evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(username);
+                }
+            });
+        }
+    }
+
+    private Cache getCache() {
+        var cache = cacheManager.getCache(PRINCIPALS);
+        if (cache == null) {
+            throw new IllegalStateException("Кэш " + PRINCIPALS + " не настроен");
+        }
+        return cache;
+    }
+
+    private User copy(User user) {
+        return User.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .passwordDigest(user.getPasswordDigest())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.repository.LabelRepository;
+import hexlet.code.app.repository.TaskStatusRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+// Кэш справочников, которые читаются на каждую запись задачи: id статусов по слагу и существующие id меток.
+// Заполняется только после коммита, сбрасывается слушателем ReferenceDataCacheListener при изменении сущностей
+@Component
+public class ReferenceDataCache {
+    public static final String TASK_STATUSES = "taskStatusesBySlug";
+    public static final String LABEL_IDS = "labelIds";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    // Кэшируется только id: при попадании отдается ссылка текущей сессии без запроса к базе.
+    // Отсоединенная копия не годится - без версии Hibernate считает ее новой сущностью
+    public Optional<TaskStatus> findStatusBySlug(String slug) {
+        var cache = getCache(TASK_STATUSES);
+        var cachedId = cache.get(slug, Long.class);
+        if (cachedId != null) {
+            return Optional.of(taskStatusRepository.getReferenceById(cachedId));
+        }
+        var status = taskStatusRepository.findBySlug(slug);
+        status.ifPresent(value -> putAfterCommit(cache, slug, value.getId()));
+        return status;
+    }
+
+    public boolean labelExists(Long id) {
+        return findMissingLabelIds(Set.of(id)).isEmpty();
+    }
+
+    // Промахи кэша проверяются одним запросом, возвращаются id, которых нет в базе
+    public Set<Long> findMissingLabelIds(Collection<Long> ids) {
+        var cache = getCache(LABEL_IDS);
+        var missing = new LinkedHashSet<Long>();
+        for (var id : ids) {
+            if (cache.get(id) == null) {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return missing;
+        }
+        for (var id : labelRepository.findExistingIds(missing)) {
+            missing.remove(id);
+            putAfterCommit(cache, id, Boolean.TRUE);
+        }
+        return missing;
+    }
+
+    public void evictStatuses() {
+        evict(getCache(TASK_STATUSES), null);
+    }
+
+    public void evictLabel(Long id) {
+        evict(getCache(LABEL_IDS), id);
+    }
+
+    private Cache getCache(String name) {
+        var cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Кэш " + name + " не настроен");
+        }
+        return cache;
+    }
+
+    // Незакоммиченные данные могут откатиться, поэтому в кэш они попадают только после коммита
+    private void putAfterCommit(Cache cache, Object key, Object value) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.put(key, value);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(key, value);
+            }
+        });
+    }
+
+    // Сбрасываем сразу и еще раз после завершения транзакции,
+    // чтобы параллельное чтение не вернуло в кэш старое значение
+    private void evict(Cache cache, Object key) {
+        evictNow(cache, key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(cache, key);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Cache cache, Object key) {
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+    }
+}
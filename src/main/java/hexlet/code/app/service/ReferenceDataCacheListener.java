@@ -0,0 +1,30 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.model.label.Label;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+// Любая запись статуса или метки через JPA (сервисы, репозитории, DataInitializer) сбрасывает кэш справочников
+@Component
+public class ReferenceDataCacheListener {
+
+    @Lazy
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof TaskStatus) {
+            referenceDataCache.evictStatuses();
+        } else if (entity instanceof Label label) {
+            referenceDataCache.evictLabel(label.getId());
+        }
+    }
+}
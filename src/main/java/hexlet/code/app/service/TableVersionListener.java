@@ -0,0 +1,76 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.model.label.Label;
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.model.user.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Отмечает изменение таблицы при любой записи сущности через сессию.
+// Изменение меток задачи увеличивает ее версию, поэтому тоже приходит сюда как обновление задачи.
+// DML-запросы мимо сессии отмечают таблицу сами через TableVersionService.touch
+@Component
+public class TableVersionListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TableVersionService tableVersionService;
+
+    @PostConstruct
+    public void register() {
+        var registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        touch(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        touch(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        touch(event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void touch(Object entity) {
+        if (entity instanceof Task) {
+            tableVersionService.touch(TableVersionService.TASKS);
+        } else if (entity instanceof Label) {
+            tableVersionService.touch(TableVersionService.LABELS);
+        } else if (entity instanceof TaskStatus) {
+            tableVersionService.touch(TableVersionService.TASK_STATUSES);
+        } else if (entity instanceof User) {
+            tableVersionService.touch(TableVersionService.USERS);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.repository.TableVersionRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+// Строгие ETag для условных GET. Коллекция - по отметкам изменений таблиц, из которых собран ответ,
+// отдельная запись - по версии строки (@Version) и отметкам таблиц, чьи данные в нее попадают.
+// Отметка читается раньше данных: изменение между ними дает новый ответ со старым ETag и лишний запрос потом,
+// но не устаревший ответ под новым ETag
+@Service
+public class TableVersionService {
+    public static final String TASKS = "tasks";
+    public static final String LABELS = "labels";
+    public static final String TASK_STATUSES = "task_statuses";
+    public static final String USERS = "users";
+
+    private static final Set<String> TABLES = Set.of(TASKS, LABELS, TASK_STATUSES, USERS);
+
+    @Autowired
+    private TableVersionRepository versionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // Таблица изменилась: отметка растет один раз на транзакцию, перед коммитом.
+    // Изменения сущностей попадают сюда и во время flush при коммите, когда beforeCommit Spring уже прошел
+    public void touch(String table) {
+        if (!TABLES.contains(table)) {
+            throw new IllegalArgumentException("Неизвестная таблица: " + table);
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            versionRepository.increment(Set.of(table));
+            return;
+        }
+        pending().add(table);
+    }
+
+    // ETag коллекции, собранной из таблиц tables
+    public String collectionTag(String... tables) {
+        flushPending();
+        return quote(stamps(tables));
+    }
+
+    // ETag записи или null, если ее нет: тогда обработчик сам ответит 404
+    public String entityTag(String table, Long id, String... dependencies) {
+        if (!TABLES.contains(table)) {
+            throw new IllegalArgumentException("Неизвестная таблица: " + table);
+        }
+        flushPending();
+        var stamps = dependencies.length == 0 ? "" : "-" + stamps(dependencies);
+        return versionRepository.findRowVersion(table, id)
+                .map(version -> quote(id + "." + version + stamps))
+                .orElse(null);
+    }
+
+    private String stamps(String... tables) {
+        var versions = versionRepository.findVersions(Arrays.asList(tables));
+        return Arrays.stream(tables)
+                .map(table -> table + "." + versions.getOrDefault(table, 0L))
+                .collect(Collectors.joining("-"));
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    // Чтение в той же транзакции, что и изменение (например, в тестах), должно видеть свои изменения
+    private void flushPending() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        entityManager.flush();
+        @SuppressWarnings("unchecked")
+        var pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            versionRepository.increment(pending);
+            pending.clear();
+        }
+    }
+
+    private Set<String> pending() {
+        @SuppressWarnings("unchecked")
+        var pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            var created = new TreeSet<String>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new PendingCleanup());
+            entityManager.unwrap(SessionImplementor.class).getActionQueue()
+                    .registerProcess(session -> versionRepository.increment(created));
+            pending = created;
+        }
+        return pending;
+    }
+
+    // Как у счетчиков задач: запись - процесс Hibernate после flush при коммите, здесь только отвязка от потока
+    private final class PendingCleanup implements TransactionSynchronization {
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TableVersionService.this);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.config.BatchProperties;
+import hexlet.code.app.dto.taskDTO.TaskBatchResultDTO;
+import hexlet.code.app.dto.taskDTO.TaskBatchUpdateDTO;
+import hexlet.code.app.dto.taskDTO.TaskCreateDTO;
+import hexlet.code.app.exception.BadRequestException;
+import hexlet.code.app.mapper.TaskMapper;
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.repository.LabelRepository;
+import hexlet.code.app.repository.TaskRepository;
+import hexlet.code.app.repository.TaskStatusRepository;
+import hexlet.code.app.repository.UserRepository;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Пакетные операции над задачами: справочники проверяются один раз на весь запрос,
+// запись идет чанками по транзакции на чанк, на каждый элемент возвращается свой результат
+@Service
+public class TaskBatchService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private TaskMapper mapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BatchProperties properties;
+
+    // === Create ===
+    public List<TaskBatchResultDTO> createAll(List<TaskCreateDTO> items) {
+        checkSize(items);
+        var results = new TaskBatchResultDTO[items.size()];
+        var references = resolve(
+                items.stream().filter(Objects::nonNull).map(TaskCreateDTO::status).toList(),
+                items.stream().filter(Objects::nonNull).map(TaskCreateDTO::assignee_id).toList(),
+                items.stream().filter(Objects::nonNull).map(TaskCreateDTO::taskLabelIds).toList());
+
+        var positions = new ArrayList<Integer>();
+        for (int i = 0; i < items.size(); i++) {
+            var item = items.get(i);
+            var error = validate(item);
+            if (error != null) {
+                results[i] = failure(i, null, HttpStatus.UNPROCESSABLE_ENTITY, error);
+                continue;
+            }
+            error = references.check(item.status(), item.assignee_id(), item.taskLabelIds());
+            if (error != null) {
+                results[i] = failure(i, null, HttpStatus.NOT_FOUND, error);
+                continue;
+            }
+            positions.add(i);
+        }
+
+        writeInChunks(positions, results, position -> null, chunk -> {
+            var tasks = new ArrayList<Task>();
+            for (var position : chunk) {
+                var item = items.get(position);
+                var task = mapper.toEntity(item);
+                task.setTaskStatus(references.statuses().get(item.status()));
+                setAssignee(task, item.assignee_id());
+                addLabels(task, item.taskLabelIds());
+                tasks.add(task);
+            }
+            taskRepository.saveAll(tasks);
+
+            var written = new ArrayList<TaskBatchResultDTO>();
+            for (int i = 0; i < chunk.size(); i++) {
+                written.add(new TaskBatchResultDTO(chunk.get(i), tasks.get(i).getId(),
+                        HttpStatus.CREATED.value(), null));
+            }
+            return written;
+        });
+        return Arrays.asList(results);
+    }
+
+    // === Update ===
+    public List<TaskBatchResultDTO> updateAll(List<TaskBatchUpdateDTO> items) {
+        checkSize(items);
+        var results = new TaskBatchResultDTO[items.size()];
+        var changes = items.stream().filter(Objects::nonNull).map(TaskBatchUpdateDTO::task)
+                .filter(Objects::nonNull).toList();
+        var references = resolve(
+                changes.stream().map(task -> task.status().orElse(null)).toList(),
+                changes.stream().map(task -> task.assignee_id().orElse(null)).toList(),
+                changes.stream().map(task -> task.taskLabelIds().orElse(null)).toList());
+
+        var positions = new ArrayList<Integer>();
+        for (int i = 0; i < items.size(); i++) {
+            var item = items.get(i);
+            var error = validate(item);
+            if (error != null) {
+                results[i] = failure(i, item == null ? null : item.id(), HttpStatus.UNPROCESSABLE_ENTITY, error);
+                continue;
+            }
+            var task = item.task();
+            error = references.check(task.status().orElse(null), task.assignee_id().orElse(null),
+                    task.taskLabelIds().orElse(null));
+            if (error != null) {
+                results[i] = failure(i, item.id(), HttpStatus.NOT_FOUND, error);
+                continue;
+            }
+            positions.add(i);
+        }
+
+        writeInChunks(positions, results, position -> items.get(position).id(), chunk -> {
+            // Задачи чанка читаются одним запросом вместе с метками
+            var ids = chunk.stream().map(position -> items.get(position).id()).toList();
+            var tasks = taskRepository.findAllWithLabelsByIdIn(ids).stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity(), (first, second) -> first));
+
+            var written = new ArrayList<TaskBatchResultDTO>();
+            for (var position : chunk) {
+                var item = items.get(position);
+                var task = tasks.get(item.id());
+                if (task == null) {
+                    written.add(failure(position, item.id(), HttpStatus.NOT_FOUND,
+                            "Задача с id: " + item.id() + " не найдена"));
+                    continue;
+                }
+                var data = item.task();
+                mapper.partialUpdate(data, task);
+                if (data.status().isPresent()) {
+                    task.setTaskStatus(references.statuses().get(data.status().get()));
+                }
+                if (data.assignee_id().isPresent()) {
+                    setAssignee(task, data.assignee_id().get());
+                }
+                if (data.taskLabelIds().isPresent()) {
+                    addLabels(task, data.taskLabelIds().get());
+                }
+                written.add(new TaskBatchResultDTO(position, task.getId(), HttpStatus.OK.value(), null));
+            }
+            return written;
+        });
+        return Arrays.asList(results);
+    }
+
+    // === Delete ===
+    public List<TaskBatchResultDTO> deleteAll(List<Long> ids) {
+        checkSize(ids);
+        var results = new TaskBatchResultDTO[ids.size()];
+        var positions = new ArrayList<Integer>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                results[i] = failure(i, null, HttpStatus.UNPROCESSABLE_ENTITY, "Id задачи обязателен");
+                continue;
+            }
+            positions.add(i);
+        }
+
+        writeInChunks(positions, results, ids::get, chunk -> {
+            var chunkIds = chunk.stream().map(ids::get).collect(Collectors.toSet());
+            var tasks = taskRepository.findAllById(chunkIds).stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+            var written = new ArrayList<TaskBatchResultDTO>();
+            var deleted = new LinkedHashSet<Task>();
+            for (var position : chunk) {
+                var id = ids.get(position);
+                var task = tasks.get(id);
+                if (task == null) {
+                    written.add(failure(position, id, HttpStatus.NOT_FOUND, "Задача с id: " + id + " не найдена"));
+                    continue;
+                }
+                deleted.add(task);
+                written.add(new TaskBatchResultDTO(position, id, HttpStatus.NO_CONTENT.value(), null));
+            }
+            taskRepository.deleteAll(deleted);
+            return written;
+        });
+        return Arrays.asList(results);
+    }
+
+    // Вспомогательные методы
+    private void checkSize(List<?> items) {
+        if (items.size() > properties.getMaxItems()) {
+            throw new BadRequestException("В одном запросе не больше " + properties.getMaxItems() + " элементов");
+        }
+    }
+
+    private String validate(Object item) {
+        if (item == null) {
+            return "Пустой элемент";
+        }
+        var violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Все статусы, исполнители и метки запроса проверяются тремя запросами на весь пакет
+    private References resolve(Collection<String> slugs, Collection<Long> assigneeIds,
+                               Collection<List<Long>> labelIds) {
+        var distinctSlugs = slugs.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<String, TaskStatus> statuses = distinctSlugs.isEmpty()
+                ? Map.of()
+                : taskStatusRepository.findAllBySlugIn(distinctSlugs).stream()
+                        .collect(Collectors.toMap(TaskStatus::getSlug, Function.identity()));
+
+        var distinctAssignees = assigneeIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> users = distinctAssignees.isEmpty()
+                ? Set.of()
+                : new HashSet<>(userRepository.findExistingIds(distinctAssignees));
+
+        var distinctLabels = labelIds.stream()
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> missingLabels = distinctLabels.isEmpty()
+                ? Set.of()
+                : referenceDataCache.findMissingLabelIds(distinctLabels);
+
+        return new References(statuses, users, missingLabels);
+    }
+
+    // Транзакция на чанк. Если чанк откатился, его элементы переписываются по одному,
+    // чтобы ошибку получил только тот элемент, который ее вызвал. idOf - id задачи элемента для отчета
+    // (null у создания)
+    private void writeInChunks(List<Integer> positions, TaskBatchResultDTO[] results, Function<Integer, Long> idOf,
+                               Function<List<Integer>, List<TaskBatchResultDTO>> writer) {
+        var chunkSize = Math.max(1, properties.getChunkSize());
+        for (int from = 0; from < positions.size(); from += chunkSize) {
+            var chunk = positions.subList(from, Math.min(from + chunkSize, positions.size()));
+            try {
+                store(results, transactionTemplate.execute(status -> writer.apply(chunk)));
+            } catch (DataAccessException | TransactionException e) {
+                for (var position : chunk) {
+                    try {
+                        store(results, transactionTemplate.execute(status -> writer.apply(List.of(position))));
+                    } catch (DataAccessException | TransactionException ex) {
+                        results[position] = failure(position, idOf.apply(position), HttpStatus.CONFLICT,
+                                "Не удалось сохранить задачу: нарушены ограничения данных");
+                    }
+                }
+            }
+        }
+    }
+
+    private void store(TaskBatchResultDTO[] results, List<TaskBatchResultDTO> written) {
+        for (var result : written) {
+            results[result.index()] = result;
+        }
+    }
+
+    private TaskBatchResultDTO failure(int index, Long id, HttpStatus status, String error) {
+        return new TaskBatchResultDTO(index, id, status.value(), error);
+    }
+
+    // Исполнитель и метки - ссылки без запроса к базе, их существование уже проверено
+    private void setAssignee(Task task, Long assigneeId) {
+        task.setAssignee(assigneeId == null ? null : userRepository.getReferenceById(assigneeId));
+    }
+
+    private void addLabels(Task task, List<Long> labelIds) {
+        if (labelIds == null) {
+            return;
+        }
+        labelIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(labelId -> task.addLabel(labelRepository.getReferenceById(labelId)));
+    }
+
+    private record References(Map<String, TaskStatus> statuses, Set<Long> users, Set<Long> missingLabels) {
+        String check(String slug, Long assigneeId, List<Long> labelIds) {
+            if (slug != null && !statuses.containsKey(slug)) {
+                return "Статус со слагом: " + slug + " не найден";
+            }
+            if (assigneeId != null && !users.contains(assigneeId)) {
+                return "Пользователь с id " + assigneeId + " не существует";
+            }
+            if (labelIds != null) {
+                var missing = labelIds.stream().filter(missingLabels::contains).distinct().toList();
+                if (!missing.isEmpty()) {
+                    return "Метки с id: " + missing + " не найдены";
+                }
+            }
+            return null;
+        }
+    }
+}
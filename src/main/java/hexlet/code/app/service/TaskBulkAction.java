@@ -0,0 +1,22 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.exception.BadRequestException;
+
+import java.util.Locale;
+
+// Операции POST /api/tasks/bulk
+public enum TaskBulkAction {
+    DELETE,
+    MOVE,
+    REASSIGN,
+    ADD_LABEL,
+    REMOVE_LABEL;
+
+    public static TaskBulkAction parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Неизвестная операция: " + value);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.config.BatchProperties;
+import hexlet.code.app.dto.taskDTO.TaskBulkDTO;
+import hexlet.code.app.dto.taskDTO.TaskBulkResultDTO;
+import hexlet.code.app.dto.taskDTO.TaskParamsDTO;
+import hexlet.code.app.exception.BadRequestException;
+import hexlet.code.app.exception.ResourceNotFoundException;
+import hexlet.code.app.repository.TaskBulkRepository;
+import hexlet.code.app.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Операции над всеми задачами под фильтром без загрузки сущностей: id выбираются чанками по ключу,
+// каждый чанк меняется одним-двумя операторами в своей транзакции. Остановка посередине оставляет
+// записанными целые чанки, повтор того же запроса доделывает остальное
+@Slf4j
+@Service
+public class TaskBulkService {
+
+    @Autowired
+    private TaskBulkRepository bulkRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private TaskSearchListener taskSearchListener;
+
+    @Autowired
+    private TableVersionService tableVersionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BatchProperties properties;
+
+    public TaskBulkResultDTO execute(TaskBulkDTO request) {
+        var action = TaskBulkAction.parse(request.action());
+        var filter = request.filter();
+        checkFilter(filter);
+        var target = resolveTarget(action, request);
+
+        var progress = new Progress();
+        var chunkSize = Math.max(1, properties.getBulkChunkSize());
+        List<Long> ids;
+        do {
+            ids = transactionTemplate.execute(status -> {
+                var chunk = bulkRepository.findIds(filter, progress.lastId, chunkSize);
+                if (!chunk.isEmpty()) {
+                    var locked = bulkRepository.lockIds(filter, chunk);
+                    var changed = locked.isEmpty() ? 0 : apply(action, locked, target);
+                    if (changed > 0) {
+                        tableVersionService.touch(TableVersionService.TASKS);
+                    }
+                    progress.add(chunk, locked.size(), changed);
+                }
+                return chunk;
+            });
+        } while (ids != null && ids.size() == chunkSize);
+
+        log.info("Bulk {}: {} tasks matched, {} rows changed in {} chunks",
+                action, progress.matched, progress.affected, progress.chunks);
+        return new TaskBulkResultDTO(action.name().toLowerCase(Locale.ROOT), progress.matched, progress.affected,
+                progress.chunks);
+    }
+
+    // Операторы идут мимо Hibernate, поэтому счетчики и поисковый индекс правятся здесь же, в транзакции чанка.
+    // ids уже заблокированы, так что подсчет до изменения видит те же строки, что и сами операторы
+    private int apply(TaskBulkAction action, List<Long> ids, Long target) {
+        return switch (action) {
+            case DELETE -> {
+                record(bulkRepository.countByStatus(ids), true, -1);
+                record(bulkRepository.countByAssignee(ids), false, -1);
+                var deleted = bulkRepository.delete(ids);
+                taskSearchListener.onRemoveAll(ids);
+                yield deleted;
+            }
+            case MOVE -> {
+                var counts = bulkRepository.countByStatus(ids);
+                counts.remove(target);
+                record(counts, true, -1);
+                taskCounterService.record(target, null, sum(counts));
+                yield bulkRepository.move(ids, target);
+            }
+            case REASSIGN -> {
+                var counts = bulkRepository.countByAssignee(ids);
+                counts.remove(target);
+                record(counts, false, -1);
+                taskCounterService.record(null, target, sum(counts));
+                yield bulkRepository.reassign(ids, target);
+            }
+            case ADD_LABEL -> bulkRepository.addLabel(ids, target);
+            case REMOVE_LABEL -> bulkRepository.removeLabel(ids, target);
+        };
+    }
+
+    private void record(Map<Long, Long> counts, boolean byStatus, int sign) {
+        counts.forEach((id, count) -> {
+            if (byStatus) {
+                taskCounterService.record(id, null, sign * count);
+            } else {
+                taskCounterService.record(null, id, sign * count);
+            }
+        });
+    }
+
+    private static long sum(Map<Long, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    // Пустой фильтр задел бы все задачи разом - такое делается только явным условием
+    private void checkFilter(TaskParamsDTO filter) {
+        if (filter == null || (isBlank(filter.titleCont()) && filter.assigneeId() == null
+                && isBlank(filter.status()) && filter.labelId() == null)) {
+            throw new BadRequestException("Нужен хотя бы один фильтр: titleCont, assigneeId, status или labelId");
+        }
+    }
+
+    // id статуса, исполнителя или метки, к которым приводятся задачи; проверяются до первого чанка
+    private Long resolveTarget(TaskBulkAction action, TaskBulkDTO request) {
+        return switch (action) {
+            case DELETE -> null;
+            case MOVE -> {
+                if (isBlank(request.status())) {
+                    throw new BadRequestException("Для move нужен status");
+                }
+                yield referenceDataCache.findStatusBySlug(request.status())
+                        .orElseThrow(() -> new ResourceNotFoundException(
+                                "Статус со слагом: " + request.status() + " не существует"))
+                        .getId();
+            }
+            case REASSIGN -> {
+                var assigneeId = request.assigneeId();
+                if (assigneeId != null && userRepository.findExistingIds(List.of(assigneeId)).isEmpty()) {
+                    throw new ResourceNotFoundException("Пользователь с id " + assigneeId + " не существует");
+                }
+                yield assigneeId;
+            }
+            case ADD_LABEL, REMOVE_LABEL -> {
+                var labelId = request.labelId();
+                if (labelId == null) {
+                    throw new BadRequestException("Для " + request.action() + " нужен labelId");
+                }
+                if (!referenceDataCache.labelExists(labelId)) {
+                    throw new ResourceNotFoundException("Метки с id: " + labelId + " не найдено");
+                }
+                yield labelId;
+            }
+        };
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    // Итоги по всем чанкам; после каждого чанка запоминается последний id для следующей выборки
+    private static final class Progress {
+        private long lastId;
+        private long matched;
+        private long affected;
+        private int chunks;
+
+        void add(List<Long> ids, int locked, int changed) {
+            lastId = ids.get(ids.size() - 1);
+            matched += locked;
+            affected += changed;
+            chunks++;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.model.user.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// Передает в счетчики смену статуса и исполнителя задачи. Слушатель Hibernate, а не JPA:
+// при обновлении нужно прежнее состояние, которого у @PostUpdate нет.
+// Массовые DML-запросы мимо сессии слушатель не видит, после них нужен пересчет счетчиков
+@Component
+public class TaskCounterListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskCounterService counterService;
+
+    @PostConstruct
+    public void register() {
+        var registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Task) {
+            var persister = event.getPersister();
+            counterService.record(reference(persister, event.getState(), "taskStatus"),
+                    reference(persister, event.getState(), "assignee"), 1);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        // Без прежнего состояния (обновление отсоединенной сущности) разницу не посчитать - поправит пересчет
+        if (!(event.getEntity() instanceof Task) || event.getOldState() == null) {
+            return;
+        }
+        var persister = event.getPersister();
+        var oldStatus = reference(persister, event.getOldState(), "taskStatus");
+        var newStatus = reference(persister, event.getState(), "taskStatus");
+        var oldAssignee = reference(persister, event.getOldState(), "assignee");
+        var newAssignee = reference(persister, event.getState(), "assignee");
+        if (Objects.equals(oldStatus, newStatus) && Objects.equals(oldAssignee, newAssignee)) {
+            return;
+        }
+        counterService.record(oldStatus, oldAssignee, -1);
+        counterService.record(newStatus, newAssignee, 1);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Task) {
+            var persister = event.getPersister();
+            counterService.record(reference(persister, event.getDeletedState(), "taskStatus"),
+                    reference(persister, event.getDeletedState(), "assignee"), -1);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // id связанной сущности из массива состояния; у прокси id читается без загрузки
+    private static Long reference(EntityPersister persister, Object[] state, String property) {
+        var index = Arrays.asList(persister.getPropertyNames()).indexOf(property);
+        var value = state[index];
+        if (value instanceof TaskStatus status) {
+            return status.getId();
+        }
+        if (value instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,139 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.dto.taskDTO.TaskAssigneeCountDTO;
+import hexlet.code.app.dto.taskDTO.TaskStatsDTO;
+import hexlet.code.app.dto.taskDTO.TaskStatusCountDTO;
+import hexlet.code.app.repository.TaskCounterRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Счетчики задач по статусу и по исполнителю в таблицах task_status_counts и task_assignee_counts.
+// Изменения копятся в транзакции и пишутся одним upsert на ключ перед коммитом:
+// строки счетчиков заблокированы только на время коммита, а не всей транзакции.
+// Запись - процесс Hibernate перед завершением транзакции: он идет после flush при коммите,
+// а изменения задач без явного flush слушатель видит только в этом flush, когда beforeCommit Spring уже прошел
+@Slf4j
+@Service
+public class TaskCounterService {
+
+    @Autowired
+    private TaskCounterRepository counterRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Вызывает TaskCounterListener во время flush
+    public void record(Long statusId, Long assigneeId, long delta) {
+        var pending = pending();
+        if (statusId != null) {
+            pending.statuses.merge(statusId, delta, Long::sum);
+        }
+        if (assigneeId != null) {
+            pending.assignees.merge(assigneeId, delta, Long::sum);
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            apply(pending);
+        }
+    }
+
+    // === Read ===
+    // Внутри транзакции записи чтение идет в ней же, иначе - в отдельной транзакции только для чтения
+    public TaskStatsDTO getStats() {
+        return readOnlyTransaction.execute(status -> {
+            flushPending();
+            var byStatus = counterRepository.findStatusCounts();
+            var byAssignee = counterRepository.findAssigneeCounts();
+            var total = byStatus.stream().mapToLong(TaskStatusCountDTO::count).sum();
+            var assigned = byAssignee.stream().mapToLong(TaskAssigneeCountDTO::count).sum();
+            return new TaskStatsDTO(total, total - assigned, byStatus, byAssignee);
+        });
+    }
+
+    // === Update ===
+    // Пересчет из tasks: чинит расхождения после массовых DML-запросов и ручных правок базы
+    @Transactional
+    public TaskStatsDTO rebuild() {
+        entityManager.flush();
+        pending().clear();
+        counterRepository.rebuild();
+        log.info("Task counters rebuilt");
+        return getStats();
+    }
+
+    // Чтение в той же транзакции должно видеть и еще не записанные изменения
+    private void flushPending() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        entityManager.flush();
+        var pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            apply(pending);
+        }
+    }
+
+    private void apply(Pending pending) {
+        counterRepository.addToStatuses(pending.statuses);
+        counterRepository.addToAssignees(pending.assignees);
+        pending.clear();
+    }
+
+    // Изменения текущей транзакции; без транзакции - временный объект, который сразу записывается
+    private Pending pending() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return new Pending();
+        }
+        var pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            var created = new Pending();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new PendingCleanup());
+            entityManager.unwrap(SessionImplementor.class).getActionQueue()
+                    .registerProcess(session -> apply(created));
+            pending = created;
+        }
+        return pending;
+    }
+
+    // Отвязывает изменения от потока и после отката, когда процесс Hibernate не выполняется
+    private final class PendingCleanup implements TransactionSynchronization {
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TaskCounterService.this);
+        }
+    }
+
+    // TreeMap: ключи пишутся по возрастанию, см. TaskCounterRepository
+    private static final class Pending {
+        private final Map<Long, Long> statuses = new TreeMap<>();
+        private final Map<Long, Long> assignees = new TreeMap<>();
+
+        void clear() {
+            statuses.clear();
+            assignees.clear();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package hexlet.code.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.app.dto.taskDTO.TaskDTO;
+import hexlet.code.app.dto.taskDTO.TaskExportRow;
+import hexlet.code.app.dto.taskDTO.TaskParamsDTO;
+import hexlet.code.app.repository.TaskExportRepository;
+import hexlet.code.app.specification.TaskSpecification;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Выгрузка задач потоком: строки идут из курсора прямо в ответ, в памяти только текущая порция
+@Service
+public class TaskExportService {
+    // Столько строк копится, чтобы догрузить их метки одним запросом
+    private static final int LABELS_CHUNK = 500;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Autowired
+    private TaskExportRepository exportRepository;
+
+    @Autowired
+    private TaskSpecification specBuilder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void export(TaskParamsDTO params, TaskFileFormat format, OutputStream out) throws IOException {
+        var spec = specBuilder.build(params);
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == TaskFileFormat.CSV) {
+            writeLine(writer, TaskFileFormat.CSV_HEADER);
+        }
+
+        // Курсор живет только внутри транзакции: PostgreSQL учитывает fetch size лишь без autocommit
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (var rows = exportRepository.streamRows(spec)) {
+                var chunk = new ArrayList<TaskExportRow>(LABELS_CHUNK);
+                rows.forEach(row -> {
+                    chunk.add(row);
+                    if (chunk.size() == LABELS_CHUNK) {
+                        writeChunk(writer, format, chunk);
+                        chunk.clear();
+                    }
+                });
+                writeChunk(writer, format, chunk);
+            }
+        });
+        writer.flush();
+    }
+
+    private void writeChunk(Writer writer, TaskFileFormat format, List<TaskExportRow> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        var labelIds = exportRepository.findLabelIds(chunk.stream().map(TaskExportRow::id).toList());
+        for (var row : chunk) {
+            var labels = labelIds.getOrDefault(row.id(), List.of());
+            var line = format == TaskFileFormat.CSV ? toCsv(row, labels) : toJson(row, labels);
+            writeLine(writer, line);
+        }
+    }
+
+    // Тот же формат, что и в /api/tasks
+    private String toJson(TaskExportRow row, List<Long> labels) {
+        var task = new TaskDTO(row.id(), row.index(), row.assigneeId(), row.title(), row.content(),
+                row.createdAt(), row.status(), labels);
+        try {
+            return objectMapper.writeValueAsString(task);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toCsv(TaskExportRow row, List<Long> labels) {
+        var labelIds = labels.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(TaskFileFormat.CSV_LABELS_SEPARATOR));
+        return String.join(",",
+                csv(row.id()),
+                csv(row.index()),
+                csv(row.assigneeId()),
+                csv(row.title()),
+                csv(row.content()),
+                csv(row.createdAt() == null ? null : DATE_FORMAT.format(row.createdAt())),
+                csv(row.status()),
+                csv(labelIds));
+    }
+
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        var text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    private void writeLine(Writer writer, String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.exception.BadRequestException;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+// Форматы выгрузки и загрузки задач
+@Getter
+public enum TaskFileFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    public static final String CSV_HEADER = "id,index,assignee_id,title,content,createdAt,status,taskLabelIds";
+    public static final String CSV_LABELS_SEPARATOR = ";";
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    TaskFileFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public static TaskFileFormat parse(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Неизвестный формат файла задач: " + value);
+        }
+    }
+}
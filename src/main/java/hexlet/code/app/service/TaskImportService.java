@@ -0,0 +1,248 @@
+package hexlet.code.app.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.app.config.BatchProperties;
+import hexlet.code.app.dto.taskDTO.TaskCreateDTO;
+import hexlet.code.app.dto.taskDTO.TaskImportErrorDTO;
+import hexlet.code.app.dto.taskDTO.TaskImportReportDTO;
+import hexlet.code.app.exception.BadRequestException;
+import hexlet.code.app.util.CsvReader;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Загрузка задач потоком: тело читается по записи, в памяти только текущий чанк.
+// Следующий чанк читается после коммита предыдущего, так что медленная база притормаживает и чтение
+@Slf4j
+@Service
+public class TaskImportService {
+    // Больше буфера ввода парсера, который возвращается в поток после синтаксической ошибки
+    private static final int NDJSON_PUSHBACK = 64 * 1024;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BatchProperties properties;
+
+    private JsonFactory jsonFactory;
+
+    // Та же фабрика, что у objectMapper, но строковое значение не длиннее записи CSV
+    @PostConstruct
+    public void init() {
+        jsonFactory = objectMapper.getFactory().rebuild()
+                .streamReadConstraints(StreamReadConstraints.builder()
+                        .maxStringLength(properties.getImportMaxRecordLength())
+                        .build())
+                .build();
+    }
+
+    public TaskImportReportDTO importTasks(InputStream in, TaskFileFormat format) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        var importer = new Importer();
+        if (format == TaskFileFormat.CSV) {
+            readCsv(reader, importer);
+        } else {
+            readNdjson(reader, importer);
+        }
+        importer.flush();
+        return importer.report();
+    }
+
+    // Объекты читаются из потока MappingIterator: в памяти только текущий, строки в нем не длиннее
+    // app.batch.import-max-record-length. Ошибка привязки пропускает объект, синтаксическая - остаток строки:
+    // разбор продолжается новым парсером со следующей строки, как если бы каждая строка разбиралась отдельно
+    private void readNdjson(BufferedReader reader, Importer importer) throws IOException {
+        var input = new PushbackReader(reader, NDJSON_PUSHBACK);
+        var taskReader = objectMapper.readerFor(TaskCreateDTO.class);
+        long linesBefore = 0;
+        while (true) {
+            var parser = jsonFactory.createParser(input);
+            MappingIterator<TaskCreateDTO> tasks = taskReader.readValues(parser);
+            try {
+                while (tasks.hasNextValue()) {
+                    var line = linesBefore + parser.currentTokenLocation().getLineNr();
+                    try {
+                        importer.accept(line, tasks.nextValue());
+                    } catch (DatabindException e) {
+                        // Синтаксическая ошибка внутри значения поля приходит обернутой
+                        var cause = e.getCause();
+                        if (cause instanceof StreamReadException || cause instanceof StreamConstraintsException) {
+                            throw (JsonProcessingException) cause;
+                        }
+                        importer.reject(line, "Некорректный JSON: " + e.getOriginalMessage());
+                    }
+                }
+                return;
+            } catch (StreamReadException | StreamConstraintsException e) {
+                var location = e.getLocation() == null ? parser.currentLocation() : e.getLocation();
+                linesBefore += location.getLineNr();
+                importer.reject(linesBefore, "Некорректный JSON: " + e.getOriginalMessage());
+                skipLine(parser, input);
+            }
+        }
+    }
+
+    // Непрочитанный буфер парсера возвращается в поток без остатка строки с ошибкой
+    private static void skipLine(JsonParser parser, PushbackReader input) throws IOException {
+        var buffered = new StringWriter();
+        parser.releaseBuffered(buffered);
+        var rest = buffered.toString();
+        var newline = rest.indexOf('\n');
+        if (newline >= 0) {
+            input.unread(rest.toCharArray(), newline + 1, rest.length() - newline - 1);
+            return;
+        }
+        int c;
+        do {
+            c = input.read();
+        } while (c != -1 && c != '\n');
+    }
+
+    // Колонки ищутся по заголовку, поэтому подходит и файл из /api/tasks/export
+    private void readCsv(BufferedReader reader, Importer importer) throws IOException {
+        var csv = new CsvReader(reader, properties.getImportMaxRecordLength());
+        List<String> header;
+        try {
+            header = csv.readRecord();
+        } catch (CsvReader.RecordTooLongException e) {
+            throw new BadRequestException("Заголовок CSV: " + e.getMessage());
+        }
+        if (header == null) {
+            return;
+        }
+        var columns = new HashMap<String, Integer>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        if (!columns.containsKey("title") || !columns.containsKey("status")) {
+            throw new BadRequestException("В заголовке CSV нужны колонки title и status");
+        }
+
+        long number = 1;
+        while (true) {
+            number++;
+            List<String> record;
+            try {
+                record = csv.readRecord();
+            } catch (CsvReader.RecordTooLongException e) {
+                importer.reject(number, e.getMessage());
+                continue;
+            }
+            if (record == null) {
+                return;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                importer.accept(number, toTask(record, columns));
+            } catch (NumberFormatException e) {
+                importer.reject(number, "Некорректное число: " + e.getMessage());
+            }
+        }
+    }
+
+    private TaskCreateDTO toTask(List<String> record, Map<String, Integer> columns) {
+        var index = column(record, columns, "index");
+        var assigneeId = column(record, columns, "assignee_id");
+        var labelIds = column(record, columns, "taskLabelIds");
+        return new TaskCreateDTO(
+                column(record, columns, "title"),
+                index == null ? null : Integer.valueOf(index.trim()),
+                assigneeId == null ? null : Long.valueOf(assigneeId.trim()),
+                column(record, columns, "content"),
+                column(record, columns, "status"),
+                labelIds == null ? null : Arrays.stream(labelIds.split(TaskFileFormat.CSV_LABELS_SEPARATOR))
+                        .filter(id -> !id.isBlank())
+                        .map(id -> Long.valueOf(id.trim()))
+                        .toList());
+    }
+
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        var index = columns.get(name);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    // Копит чанк записей, пишет его через пакетное создание и собирает отчет
+    private final class Importer {
+        private final int chunkSize = Math.max(1, Math.min(properties.getChunkSize(), properties.getMaxItems()));
+        private final List<TaskCreateDTO> chunk = new ArrayList<>();
+        private final List<Long> chunkRecords = new ArrayList<>();
+        private final List<TaskImportErrorDTO> errors = new ArrayList<>();
+        private long records;
+        private long imported;
+        private long failed;
+
+        void accept(long record, TaskCreateDTO task) {
+            records++;
+            chunk.add(task);
+            chunkRecords.add(record);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long record, String error) {
+            records++;
+            fail(record, error);
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            for (var result : taskBatchService.createAll(chunk)) {
+                if (result.error() == null) {
+                    imported++;
+                } else {
+                    fail(chunkRecords.get(result.index()), result.error());
+                }
+            }
+            chunk.clear();
+            chunkRecords.clear();
+            log.info("Task import: {} records read, {} imported, {} failed", records, imported, failed);
+        }
+
+        TaskImportReportDTO report() {
+            var sorted = errors.stream().sorted(Comparator.comparingLong(TaskImportErrorDTO::record)).toList();
+            return new TaskImportReportDTO(records, imported, failed, sorted);
+        }
+
+        private void fail(long record, String error) {
+            failed++;
+            if (errors.size() < properties.getImportMaxErrors()) {
+                errors.add(new TaskImportErrorDTO(record, error));
+            }
+        }
+    }
+}
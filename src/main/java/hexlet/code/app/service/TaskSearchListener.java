@@ -0,0 +1,68 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.model.task.Task;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+// Держит поисковый индекс в памяти в актуальном состоянии: изменения попадают в него только после коммита.
+// Массовые DML-запросы мимо JPA слушатель не видит, после них нужна перестройка индекса
+@Component
+public class TaskSearchListener {
+
+    @Lazy
+    @Autowired
+    private InMemoryTaskSearchIndex searchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Task task) {
+        if (!searchIndex.isEnabled()) {
+            return;
+        }
+        var id = task.getId();
+        var name = task.getName();
+        var description = task.getDescription();
+        afterCommit(() -> searchIndex.index(id, name, description));
+    }
+
+    @PostRemove
+    public void onRemove(Task task) {
+        onRemove(task.getId());
+    }
+
+    // Для удаления DML-запросом, о котором JPA не сообщает
+    public void onRemove(Long id) {
+        if (!searchIndex.isEnabled()) {
+            return;
+        }
+        afterCommit(() -> searchIndex.remove(id));
+    }
+
+    public void onRemoveAll(Collection<Long> ids) {
+        if (!searchIndex.isEnabled()) {
+            return;
+        }
+        afterCommit(() -> ids.forEach(searchIndex::remove));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,108 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.dto.taskDTO.TaskParamsDTO;
+import hexlet.code.app.repository.TaskExportRepository;
+import hexlet.code.app.repository.TaskSearchRepository;
+import hexlet.code.app.specification.TaskSpecification;
+import hexlet.code.app.util.DatabaseUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+
+// Полнотекстовый поиск задач по названию и описанию с ранжированием.
+// PostgreSQL - pg_trgm и GIN-индексы, без них - LIKE по подстроке в базе.
+// Инвертированный индекс в памяти - только для остальных баз (H2 в dev и тестах): его правит лишь экземпляр,
+// который записал задачу, поэтому при нескольких экземплярах результаты расходились бы
+@Slf4j
+@Service
+public class TaskSearchService {
+    // Индексы создает миграция db/migration/postgresql/V4__create_trigram_indexes.sql
+    private static final String TRIGRAM_INDEX_SQL =
+            "SELECT count(*) FROM pg_indexes WHERE tablename = 'tasks' AND indexname = 'idx_tasks_name_trgm'";
+
+    @Autowired
+    private DatabaseUtils databaseUtils;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskSearchRepository searchRepository;
+
+    @Autowired
+    private InMemoryTaskSearchIndex searchIndex;
+
+    @Autowired
+    private TaskExportRepository exportRepository;
+
+    @Autowired
+    private TaskSpecification specBuilder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile Mode mode = Mode.MEMORY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (databaseUtils.isPostgres()) {
+            mode = hasTrigramIndexes() ? Mode.TRIGRAM : Mode.PLAIN;
+            return;
+        }
+        rebuildIndex();
+    }
+
+    // id задач в порядке убывания релевантности
+    public List<Long> search(String query, int limit) {
+        var normalized = query.trim().toLowerCase(Locale.ROOT);
+        var pattern = "%" + escapeLike(normalized) + "%";
+        return switch (mode) {
+            case TRIGRAM -> searchRepository.search(normalized, pattern, limit);
+            case PLAIN -> searchRepository.searchPlain(pattern, limit);
+            case MEMORY -> searchIndex.search(normalized, limit);
+        };
+    }
+
+    // Полная перестройка индекса в памяти потоком по всем задачам
+    public void rebuildIndex() {
+        var transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        searchIndex.setEnabled(true);
+        searchIndex.clear();
+        transaction.executeWithoutResult(status -> {
+            try (var rows = exportRepository.streamRows(specBuilder.build(new TaskParamsDTO(null, null, null, null)))) {
+                rows.forEach(row -> searchIndex.index(row.id(), row.title(), row.content()));
+            }
+        });
+        log.info("In-memory task search index built");
+    }
+
+    private boolean hasTrigramIndexes() {
+        var count = jdbcTemplate.queryForObject(TRIGRAM_INDEX_SQL, Long.class);
+        if (count == null || count == 0) {
+            log.warn("Trigram indexes are missing, falling back to LIKE task search without ranking");
+            return false;
+        }
+        return true;
+    }
+
+    private enum Mode {
+        TRIGRAM,
+        PLAIN,
+        MEMORY
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -1,28 +1,45 @@
 package hexlet.code.app.service;
 
+import hexlet.code.app.dto.CursorPageDTO;
 import hexlet.code.app.dto.taskDTO.TaskFullUpdateDTO;
 import hexlet.code.app.dto.taskDTO.TaskDTO;
+import hexlet.code.app.dto.taskDTO.IndexResponseTaskData;
+import hexlet.code.app.dto.taskDTO.TaskParamsDTO;
 import hexlet.code.app.dto.taskDTO.TaskPartiallyUpdateDTO;
 import hexlet.code.app.dto.taskDTO.TaskCreateDTO;
+import hexlet.code.app.exception.BadRequestException;
 import hexlet.code.app.exception.ResourceNotFoundException;
 import hexlet.code.app.mapper.TaskMapper;
 import hexlet.code.app.model.label.Label;
 import hexlet.code.app.model.task.Task;
 import hexlet.code.app.model.taskStatus.TaskStatus;
 import hexlet.code.app.repository.LabelRepository;
+import hexlet.code.app.repository.SliceQueryRepository;
 import hexlet.code.app.repository.TaskRepository;
-import hexlet.code.app.repository.TaskStatusRepository;
 import hexlet.code.app.repository.UserRepository;
+import hexlet.code.app.specification.KeysetSpecification;
+import hexlet.code.app.specification.TaskSpecification;
+import hexlet.code.app.util.CursorUtils;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Transactional
 public class TaskService {
+    // Колонки без null, по которым можно листать курсором
+    private static final Set<String> CURSOR_COLUMNS = Set.of("id", "name", "createdAt");
+    private static final int MAX_SEARCH_LIMIT = 100;
 
     @Autowired
     private TaskRepository taskRepository;
@@ -37,7 +54,34 @@ public class TaskService {
     private TaskMapper mapper;
 
     @Autowired
-    private TaskStatusRepository taskStatusRepository;
+    private SliceQueryRepository sliceQueryRepository;
+
+    @Autowired
+    private KeysetSpecification keysetSpecification;
+
+    @Autowired
+    private CursorUtils cursorUtils;
+
+    @Autowired
+    private TaskSpecification specBuilder;
+
+    @Autowired
+    private TotalCountService totalCountService;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private TaskSearchListener taskSearchListener;
+
+    @Autowired
+    private TableVersionService tableVersionService;
 
     // === Create ===
     public TaskDTO create(TaskCreateDTO taskData) {
@@ -57,13 +101,65 @@ public class TaskService {
 
     // === Read ===
     public TaskDTO findById(Long id) {
-        var task = taskRepository.findById(id)
+        var task = taskRepository.findWithRelationsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Задача с id: " + id + "не найдена"));
         return mapper.toDto(task);
     }
 
-    public Page<TaskDTO> findAll(Pageable pageable, Specification<Task> spec) {
-        return taskRepository.findAll(spec, pageable).map(mapper::toDto);
+    public IndexResponseTaskData findAll(Pageable pageable, TaskParamsDTO params) {
+        var spec = specBuilder.build(params);
+        // Статус и исполнитель приходят вместе со страницей, метки - одним запросом на всю страницу.
+        // Лишняя запись показывает, есть ли продолжение, count(*) - по настроенной стратегии
+        var tasks = sliceQueryRepository.findSlice(Task.class, spec, pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize() + 1, "taskStatus", "assignee");
+        var hasMore = tasks.size() > pageable.getPageSize();
+        var content = hasMore ? tasks.subList(0, pageable.getPageSize()) : tasks;
+        fetchLabels(content);
+
+        var totalTasks = totalCountService.count("tasks", params.toString(), specBuilder.isFiltered(params),
+                pageable.getOffset(), content.size(), hasMore, () -> taskRepository.count(spec));
+        return new IndexResponseTaskData(content.stream().map(mapper::toDto).toList(), totalTasks, hasMore);
+    }
+
+    public CursorPageDTO<TaskDTO> findAllByCursor(TaskParamsDTO params, String sort, Sort.Direction order,
+                                                  int size, String cursor) {
+        var spec = specBuilder.build(params);
+        var keyset = cursorUtils.decode(cursor, sort, order, CURSOR_COLUMNS);
+        // Берем на одну запись больше, чтобы понять, есть ли следующая страница
+        var tasks = sliceQueryRepository.findSlice(Task.class, spec.and(keysetSpecification.after(keyset)),
+                keysetSpecification.sort(keyset), 0, size + 1, "taskStatus", "assignee");
+        var hasNext = tasks.size() > size;
+        var content = hasNext ? tasks.subList(0, size) : tasks;
+        fetchLabels(content);
+
+        String nextCursor = null;
+        if (hasNext) {
+            var last = content.get(content.size() - 1);
+            nextCursor = cursorUtils.next(keyset, last, last.getId());
+        }
+        return new CursorPageDTO<>(content.stream().map(mapper::toDto).toList(), nextCursor);
+    }
+
+    // Результаты поиска в порядке релевантности, связи грузятся так же, как для страницы списка
+    public List<TaskDTO> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Пустой поисковый запрос");
+        }
+        var ids = taskSearchService.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Specification<Task> byIds = (root, criteriaQuery, cb) -> root.get("id").in(ids);
+        var tasks = sliceQueryRepository.findSlice(Task.class, byIds, Sort.unsorted(), 0, ids.size(),
+                "taskStatus", "assignee");
+        fetchLabels(tasks);
+
+        var tasksById = tasks.stream().collect(Collectors.toMap(Task::getId, Function.identity()));
+        return ids.stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .map(mapper::toDto)
+                .toList();
     }
 
     // === Update ===
@@ -110,28 +206,49 @@ public class TaskService {
 
     // === Delete ===
     public void delete(Long id) {
-        var task = taskRepository.findById(id)
+        // Ни задача, ни задачи ее исполнителя не загружаются: стоимость не зависит от их числа
+        var keys = taskRepository.findCounterKeysById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Задача с id: " + id + "не найдена"));
-        // Удаляем у связанного пользователя задачу
-        var user = task.getAssignee();
-        user.removeTask(task);
-
-        taskRepository.deleteById(id);
+        if (taskRepository.deleteDirectlyById(id) == 0) {
+            throw new ResourceNotFoundException("Задача с id: " + id + "не найдена");
+        }
+        // DELETE идет мимо слушателей сущности, поэтому счетчики, поисковый индекс и отметку таблицы правим сами
+        taskCounterService.record(keys.statusId(), keys.assigneeId(), -1);
+        taskSearchListener.onRemove(id);
+        tableVersionService.touch(TableVersionService.TASKS);
     }
 
     // Вспомогательные методы
+    private void fetchLabels(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        var ids = tasks.stream().map(Task::getId).toList();
+        taskRepository.findAllWithLabelsByIdIn(ids);
+    }
+
     public void addContactWithLabels(Task task, List<Long> labelsId) {
-        List<Label> labels = labelsId.stream()
-                .map(labelId -> {
-                    return labelRepository.findById(labelId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Метки с id: " + labelId + "не найдено"));
-                })
-                .toList();
-        for (var label: labels) {
+        for (var label : resolveLabels(labelsId)) {
             task.addLabel(label);
         }
     }
 
+    // Все id проверяются разом: один запрос на промахи кэша и одна ошибка со всеми отсутствующими метками.
+    // Сами метки - ссылки без запроса к базе
+    private List<Label> resolveLabels(List<Long> labelsId) {
+        if (labelsId == null || labelsId.isEmpty()) {
+            return List.of();
+        }
+        var ids = new LinkedHashSet<>(labelsId);
+        var missing = referenceDataCache.findMissingLabelIds(ids);
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Метки с id: " + missing + " не найдены");
+        }
+        return ids.stream()
+                .map(labelRepository::getReferenceById)
+                .toList();
+    }
+
     public void addContactWithUsers(Task task, Long assigneeId) {
         var assignee = userRepository.findById(assigneeId)
                 .orElseThrow(() ->
@@ -140,7 +257,7 @@ public class TaskService {
     }
 
     public TaskStatus slugToStatus(String slug) {
-        return taskStatusRepository.findBySlug(slug)
+        return referenceDataCache.findStatusBySlug(slug)
                 .orElseThrow(() -> new ResourceNotFoundException("Статус со слагом: " + slug + " не найден"));
     }
 }
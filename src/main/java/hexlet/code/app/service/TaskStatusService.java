@@ -4,9 +4,11 @@ import hexlet.code.app.dto.taskStatusDTO.TaskStatusCreateDTO;
 import hexlet.code.app.dto.taskStatusDTO.TaskStatusDTO;
 import hexlet.code.app.dto.taskStatusDTO.TaskStatusFullUpdateDTO;
 import hexlet.code.app.dto.taskStatusDTO.TaskStatusPartiallyUpdateDTO;
+import hexlet.code.app.exception.ConflictException;
 import hexlet.code.app.exception.ResourceNotFoundException;
 import hexlet.code.app.exception.ResourceAlreadyExistsException;
 import hexlet.code.app.mapper.TaskStatusMapper;
+import hexlet.code.app.repository.TaskRepository;
 import hexlet.code.app.repository.TaskStatusRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +26,15 @@ public class TaskStatusService {
     @Autowired
     private TaskStatusMapper mapper;
 
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private TableVersionService tableVersionService;
+
     // === Create ===
     public TaskStatusDTO create(TaskStatusCreateDTO taskStatusData) {
         if (taskStatusRepository.existsBySlug(taskStatusData.slug())) {
@@ -87,9 +98,16 @@ public class TaskStatusService {
 
     // === Delete ===
     public void delete(Long id) {
-        if (!taskStatusRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Задачи с id " + id + " не существует");
+        // Наличие задач проверяет сам DELETE, остальные запросы - только чтобы объяснить отказ
+        if (taskStatusRepository.deleteIfNoTasks(id) == 0) {
+            if (!taskStatusRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Задачи с id " + id + " не существует");
+            }
+            throw new ConflictException(
+                    "Невозможно удалить статус. В нем " + taskRepository.countByTaskStatusId(id) + " задач!");
         }
-        taskStatusRepository.deleteById(id);
+        // DELETE идет мимо ReferenceDataCacheListener и TableVersionListener
+        referenceDataCache.evictStatuses();
+        tableVersionService.touch(TableVersionService.TASK_STATUSES);
     }
 }
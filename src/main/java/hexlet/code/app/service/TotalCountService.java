@@ -0,0 +1,137 @@
+package hexlet.code.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.app.config.PaginationProperties;
+import hexlet.code.app.config.PaginationProperties.CountStrategy;
+import hexlet.code.app.util.DatabaseUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+@Service
+public class TotalCountService {
+    private static final String ESTIMATE_SQL = "SELECT reltuples::bigint FROM pg_class WHERE relname = ?";
+
+    @Autowired
+    private PaginationProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DatabaseUtils databaseUtils;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+    private Cache<String, Long> cache;
+    private Timer exactTimer;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getCountCacheTtl())
+                .maximumSize(properties.getCountCacheSize())
+                .build();
+        // Время настоящих count(*): умножив на число сэкономленных запросов, получаем выигрыш стратегии
+        exactTimer = Timer.builder("app.pagination.count.exact")
+                .description("Duration of exact count queries behind X-Total-Count")
+                .register(meterRegistry);
+    }
+
+    // Общее количество записей списка или null, если по стратегии оно не считается.
+    // offset, contentSize и hasMore описывают уже прочитанную страницу: если дальше записей нет,
+    // количество известно без запроса к базе
+    public Long count(String table, String signature, boolean filtered,
+                      long offset, int contentSize, boolean hasMore, LongSupplier exactCount) {
+        var strategy = properties.getCountStrategy();
+        if (!hasMore && (offset == 0 || contentSize > 0)) {
+            record(strategy, "page");
+            return strategy == CountStrategy.NONE ? null : offset + contentSize;
+        }
+
+        return switch (strategy) {
+            case EXACT -> {
+                record(strategy, "exact");
+                yield exact(exactCount);
+            }
+            case CACHED -> cached(strategy, table + ":" + signature, exactCount);
+            case ESTIMATED -> filtered
+                    ? cached(strategy, table + ":" + signature, exactCount)
+                    : estimated(strategy, table, signature, servedRows(offset, contentSize, hasMore), exactCount);
+            case NONE -> {
+                record(strategy, "skipped");
+                yield null;
+            }
+        };
+    }
+
+    private Long cached(CountStrategy strategy, String key, LongSupplier exactCount) {
+        var value = cache.getIfPresent(key);
+        if (value != null) {
+            record(strategy, "cache");
+            return value;
+        }
+        record(strategy, "exact");
+        value = exact(exactCount);
+        cache.put(key, value);
+        return value;
+    }
+
+    // Оценка планировщика только на PostgreSQL; без нее (H2, до первого ANALYZE) - как CACHED.
+    // После массовых вставок reltuples отстает, поэтому оценка не меньше уже отданных записей
+    private Long estimated(CountStrategy strategy, String table, String signature, long servedRows,
+                           LongSupplier exactCount) {
+        if (databaseUtils.isPostgres()) {
+            var estimate = jdbcTemplate.queryForObject(ESTIMATE_SQL, Long.class, table);
+            if (estimate != null && estimate > 0) {
+                record(strategy, "estimate");
+                return Math.max(estimate, servedRows);
+            }
+        }
+        return cached(strategy, table + ":" + signature, exactCount);
+    }
+
+    // Сколько записей точно есть: прочитанные до конца страницы и одна лишняя, если есть продолжение
+    private static long servedRows(long offset, int contentSize, boolean hasMore) {
+        if (contentSize == 0) {
+            return 0;
+        }
+        return offset + contentSize + (hasMore ? 1 : 0);
+    }
+
+    private long exact(LongSupplier exactCount) {
+        var sample = Timer.start(meterRegistry);
+        try {
+            return exactCount.getAsLong();
+        } finally {
+            sample.stop(exactTimer);
+        }
+    }
+
+    // source=exact - запрос выполнен, остальные значения - сэкономленный count(*).
+    // Счетчик создается один раз на пару strategy и source
+    private void record(CountStrategy strategy, String source) {
+        counters.computeIfAbsent(new CounterKey(strategy, source), this::counter).increment();
+    }
+
+    private Counter counter(CounterKey key) {
+        return Counter.builder("app.pagination.count.requests")
+                .description("Total count resolutions by strategy and source")
+                .tag("strategy", key.strategy().name().toLowerCase())
+                .tag("source", key.source())
+                .register(meterRegistry);
+    }
+
+    private record CounterKey(CountStrategy strategy, String source) { }
+}
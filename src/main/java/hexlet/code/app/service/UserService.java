@@ -1,5 +1,6 @@
 package hexlet.code.app.service;
 
+import hexlet.code.app.dto.CursorPageDTO;
 import hexlet.code.app.dto.userDTO.IndexResponseUserData;
 import hexlet.code.app.dto.userDTO.UserCreateDTO;
 import hexlet.code.app.dto.userDTO.UserDTO;
@@ -10,15 +11,25 @@ import hexlet.code.app.exception.ConflictException;
 import hexlet.code.app.exception.EmailAlreadyExistsException;
 import hexlet.code.app.exception.ResourceNotFoundException;
 import hexlet.code.app.mapper.UserMapper;
+import hexlet.code.app.model.user.User;
+import hexlet.code.app.repository.SliceQueryRepository;
+import hexlet.code.app.repository.TaskRepository;
 import hexlet.code.app.repository.UserRepository;
+import hexlet.code.app.specification.KeysetSpecification;
+import hexlet.code.app.util.CursorUtils;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
 
 @Service
 @Transactional
 public class UserService {
+    // Колонки без null, по которым можно листать курсором
+    private static final Set<String> CURSOR_COLUMNS = Set.of("id", "email", "createdAt");
 
     @Autowired
     private UserRepository userRepository;
@@ -26,6 +37,27 @@ public class UserService {
     @Autowired
     private UserMapper mapper;
 
+    @Autowired
+    private SliceQueryRepository sliceQueryRepository;
+
+    @Autowired
+    private KeysetSpecification keysetSpecification;
+
+    @Autowired
+    private CursorUtils cursorUtils;
+
+    @Autowired
+    private TotalCountService totalCountService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TableVersionService tableVersionService;
+
     // === Create ===
     public UserDTO create(UserCreateDTO userData) {
         if (userRepository.existsByEmail(userData.email())) {
@@ -38,9 +70,31 @@ public class UserService {
 
     // === Read ===
     public IndexResponseUserData findAll(Pageable pageable) {
-        var pageUsers =  userRepository.findAll(pageable).map(mapper::toDto);
-        var totalUsers = pageUsers.getTotalElements();
-        return new IndexResponseUserData(pageUsers.stream().toList(), totalUsers);
+        // Лишняя запись показывает, есть ли продолжение, count(*) - по настроенной стратегии
+        var users = sliceQueryRepository.findSlice(User.class, null, pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize() + 1);
+        var hasMore = users.size() > pageable.getPageSize();
+        var content = hasMore ? users.subList(0, pageable.getPageSize()) : users;
+
+        var totalUsers = totalCountService.count("users", "all", false,
+                pageable.getOffset(), content.size(), hasMore, userRepository::count);
+        return new IndexResponseUserData(content.stream().map(mapper::toDto).toList(), totalUsers, hasMore);
+    }
+
+    public CursorPageDTO<UserDTO> findAllByCursor(String sort, Sort.Direction order, int size, String cursor) {
+        var keyset = cursorUtils.decode(cursor, sort, order, CURSOR_COLUMNS);
+        // Берем на одну запись больше, чтобы понять, есть ли следующая страница
+        var users = sliceQueryRepository.findSlice(User.class, keysetSpecification.<User>after(keyset),
+                keysetSpecification.sort(keyset), 0, size + 1);
+        var hasNext = users.size() > size;
+        var content = hasNext ? users.subList(0, size) : users;
+
+        String nextCursor = null;
+        if (hasNext) {
+            var last = content.get(content.size() - 1);
+            nextCursor = cursorUtils.next(keyset, last, last.getId());
+        }
+        return new CursorPageDTO<>(content.stream().map(mapper::toDto).toList(), nextCursor);
     }
 
     public UserDTO findById(Long id) {
@@ -66,6 +120,7 @@ public class UserService {
             throw new EmailAlreadyExistsException("email " + userData.email() + " уже занят");
         }
 
+        principalCache.removeUserFromCache(user.getEmail());
         mapper.fullUpdate(userData, user);
         userRepository.save(user);
         return mapper.toDto(user);
@@ -86,20 +141,29 @@ public class UserService {
                 );
             }
         }
+        principalCache.removeUserFromCache(user.getEmail());
         mapper.partialUpdate(userData, user);
         return mapper.toDto(user);
     }
 
     // === Delete ===
     public void delete(Long id) {
-        var user = userRepository.findById(id)
+        // email нужен для сброса кэша, сам пользователь и его задачи не загружаются
+        var email = userRepository.findEmailById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Пользователь с id " + id + " не существует"));
-        if (!user.getTasks().isEmpty()) {
+        if (userRepository.deleteIfNoTasks(id) == 0) {
+            // Пользователя могли удалить после чтения email
+            if (!userRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Пользователь с id " + id + " не существует");
+            }
+            // Число задач - только для сообщения, решение уже принял DELETE. Считается по tasks, а не по счетчикам:
+            // сообщение не должно зависеть от их расхождений
             throw new ConflictException(
                     "Невозможно удалить пользователя. Он назначен исполнителем в "
-                            + user.getTasks().size() + " задачах!"
+                            + taskRepository.countByAssigneeId(id) + " задачах!"
             );
         }
-        userRepository.deleteById(id);
+        principalCache.removeUserFromCache(email);
+        tableVersionService.touch(TableVersionService.USERS);
     }
 }
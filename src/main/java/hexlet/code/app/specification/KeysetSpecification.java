@@ -0,0 +1,71 @@
+package hexlet.code.app.specification;
+
+import hexlet.code.app.dto.KeysetCursor;
+import hexlet.code.app.exception.BadRequestException;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+@Component
+public class KeysetSpecification {
+    private static final String ID = "id";
+
+    // id добавляется вторым ключом, чтобы порядок был однозначным при одинаковых значениях
+    public Sort sort(KeysetCursor cursor) {
+        var sort = Sort.by(cursor.order(), cursor.sort());
+        return ID.equals(cursor.sort()) ? sort : sort.and(Sort.by(cursor.order(), ID));
+    }
+
+    // (колонка, id) строго после последней отданной записи - без OFFSET
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> Specification<T> after(KeysetCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor.isFirstPage()) {
+                return cb.conjunction();
+            }
+            var ascending = cursor.order().isAscending();
+            Path<Long> idPath = root.get(ID);
+            Predicate afterId = ascending
+                    ? cb.greaterThan(idPath, cursor.id())
+                    : cb.lessThan(idPath, cursor.id());
+            if (ID.equals(cursor.sort())) {
+                return afterId;
+            }
+
+            Path<Comparable> path = root.get(cursor.sort());
+            Comparable value = parseValue(cursor.value(), path.getJavaType());
+            Predicate afterValue = ascending
+                    ? cb.greaterThan(path, value)
+                    : cb.lessThan(path, value);
+            return cb.or(afterValue, cb.and(cb.equal(path, value), afterId));
+        };
+    }
+
+    private Comparable<?> parseValue(String value, Class<?> type) {
+        if (value == null) {
+            throw new BadRequestException("Некорректный курсор");
+        }
+        try {
+            if (type == String.class) {
+                return value;
+            }
+            if (type == Long.class) {
+                return Long.valueOf(value);
+            }
+            if (type == Integer.class) {
+                return Integer.valueOf(value);
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new BadRequestException("Некорректный курсор");
+        }
+        throw new BadRequestException("Тип поля " + type.getSimpleName() + " не поддерживается в режиме курсора");
+    }
+}
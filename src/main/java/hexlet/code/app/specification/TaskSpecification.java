@@ -7,8 +7,12 @@ import jakarta.persistence.criteria.Join;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
+import java.util.Locale;
+
 @Component
 public class TaskSpecification {
+    private static final char LIKE_ESCAPE = '\\';
+
     public Specification<Task> build(TaskParamsDTO params) {
         return withTitleCont(params.titleCont())
                 .and(withAssigneeId(params.assigneeId()))
@@ -16,9 +20,29 @@ public class TaskSpecification {
                 .and(withLabelId(params.labelId()));
     }
 
+    public boolean isFiltered(TaskParamsDTO params) {
+        return params.titleCont() != null
+                || params.assigneeId() != null
+                || params.status() != null
+                || params.labelId() != null;
+    }
+
+    // Вхождение подстроки без учета регистра, спецсимволы LIKE из запроса экранируются.
+    // На PostgreSQL шаблон '%...%' обслуживает триграммный индекс по lower(name)
     private Specification<Task> withTitleCont(String titleCont) {
-        return (root, query, cb) ->
-                titleCont == null ? cb.conjunction() : cb.like(cb.lower(root.get("name")), titleCont);
+        return (root, query, cb) -> {
+            if (titleCont == null || titleCont.isBlank()) {
+                return cb.conjunction();
+            }
+            var pattern = "%" + escapeLike(titleCont.trim().toLowerCase(Locale.ROOT)) + "%";
+            return cb.like(cb.lower(root.get("name")), pattern, LIKE_ESCAPE);
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
     }
 
     private Specification<Task> withAssigneeId(Long assigneeId) {
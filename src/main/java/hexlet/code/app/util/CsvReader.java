@@ -0,0 +1,79 @@
+package hexlet.code.app.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Построчное чтение CSV (RFC 4180): поле в кавычках может содержать запятые, кавычки и переводы строк.
+// Запись длиннее maxRecordLength символов не копится в памяти: она дочитывается до конца и пропускается
+public class CsvReader {
+    private final BufferedReader reader;
+    private final int maxRecordLength;
+
+    public CsvReader(BufferedReader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    // Следующая запись или null в конце потока; слишком длинная - RecordTooLongException,
+    // после которого чтение продолжается со следующей записи
+    public List<String> readRecord() throws IOException {
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        var quoted = false;
+        var empty = true;
+        long length = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            empty = false;
+            // Остаток длинной записи разбирается только чтобы найти ее конец
+            if (++length > maxRecordLength) {
+                fields.clear();
+                field.setLength(0);
+            }
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                    continue;
+                }
+                // Двойная кавычка внутри кавычек - экранированная кавычка
+                reader.mark(1);
+                if (reader.read() == '"') {
+                    field.append('"');
+                } else {
+                    quoted = false;
+                    reader.reset();
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return checkLength(fields, length);
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (empty) {
+            return null;
+        }
+        fields.add(field.toString());
+        return checkLength(fields, length);
+    }
+
+    private List<String> checkLength(List<String> fields, long length) throws RecordTooLongException {
+        if (length > maxRecordLength) {
+            throw new RecordTooLongException("Запись длиннее " + maxRecordLength + " символов");
+        }
+        return fields;
+    }
+
+    public static class RecordTooLongException extends IOException {
+        public RecordTooLongException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package hexlet.code.app.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.app.dto.KeysetCursor;
+import hexlet.code.app.exception.BadRequestException;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Set;
+
+@Component
+public class CursorUtils {
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Пустой токен означает первую страницу с сортировкой из параметров запроса
+    public KeysetCursor decode(String token, String sort, Sort.Direction order, Set<String> allowedColumns) {
+        if (!allowedColumns.contains(sort)) {
+            throw new BadRequestException("Сортировка по полю " + sort + " не поддерживается в режиме курсора");
+        }
+        if (token == null || token.isBlank()) {
+            return new KeysetCursor(sort, order, null, null);
+        }
+
+        KeysetCursor cursor;
+        try {
+            cursor = objectMapper.readValue(Base64.getUrlDecoder().decode(token), KeysetCursor.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new BadRequestException("Некорректный курсор");
+        }
+        if (cursor.id() == null || !sort.equals(cursor.sort()) || order != cursor.order()) {
+            throw new BadRequestException("Курсор не соответствует параметрам сортировки");
+        }
+        return cursor;
+    }
+
+    public String encode(KeysetCursor cursor) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сформировать курсор", e);
+        }
+    }
+
+    // Курсор на следующую страницу строится по последней отданной записи
+    public String next(KeysetCursor current, Object lastEntity, Long lastId) {
+        var value = new BeanWrapperImpl(lastEntity).getPropertyValue(current.sort());
+        var lastValue = value == null ? null : value.toString();
+        return encode(new KeysetCursor(current.sort(), current.order(), lastValue, lastId));
+    }
+}
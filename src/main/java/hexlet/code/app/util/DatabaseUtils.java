@@ -0,0 +1,34 @@
+package hexlet.code.app.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+@Component
+public class DatabaseUtils {
+    private static final String POSTGRES = "PostgreSQL";
+
+    @Autowired
+    private DataSource dataSource;
+
+    private volatile String productName;
+
+    public boolean isPostgres() {
+        return POSTGRES.equals(getProductName());
+    }
+
+    public String getProductName() {
+        if (productName == null) {
+            try {
+                productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            } catch (MetaDataAccessException e) {
+                throw new IllegalStateException("Не удалось определить тип базы данных", e);
+            }
+        }
+        return productName;
+    }
+}
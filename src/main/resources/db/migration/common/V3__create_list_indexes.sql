@@ -0,0 +1,16 @@
+-- Индексы под фильтры TaskSpecification и сортировки списков react-admin.
+-- Внешний ключ первым - фильтр, за ним колонка сортировки: страница читается из индекса без сортировки
+
+-- Фильтры по статусу и исполнителю, сортировка по id (по умолчанию) и по дате создания
+CREATE INDEX IF NOT EXISTS idx_tasks_status_id ON tasks (task_status_id, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_status_created_at ON tasks (task_status_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_id ON tasks (assignee_id, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_created_at ON tasks (assignee_id, created_at, id);
+
+-- Фильтр по метке идет от label_id; первичный ключ (task_id, label_id) обслуживает догрузку меток страницы
+CREATE INDEX IF NOT EXISTS idx_task_labels_label_task ON task_labels (label_id, task_id);
+
+-- Сортировка и курсоры без фильтров
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id ON tasks (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_name_id ON tasks (name, id);
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users (created_at, id);
@@ -0,0 +1,20 @@
+-- Счетчики задач по статусу и по исполнителю: читаются вместо count(*) по tasks.
+-- Ведет TaskCounterService, служебный endpoint actuator taskcounters пересчитывает их из tasks.
+-- Внешних ключей нет: строка удаленного статуса или пользователя не мешает удалению и убирается пересчетом
+CREATE TABLE task_status_counts (
+    task_status_id BIGINT NOT NULL,
+    task_count     BIGINT NOT NULL,
+    CONSTRAINT pk_task_status_counts PRIMARY KEY (task_status_id)
+);
+
+CREATE TABLE task_assignee_counts (
+    assignee_id BIGINT NOT NULL,
+    task_count  BIGINT NOT NULL,
+    CONSTRAINT pk_task_assignee_counts PRIMARY KEY (assignee_id)
+);
+
+INSERT INTO task_status_counts (task_status_id, task_count)
+SELECT task_status_id, count(*) FROM tasks GROUP BY task_status_id;
+
+INSERT INTO task_assignee_counts (assignee_id, task_count)
+SELECT assignee_id, count(*) FROM tasks WHERE assignee_id IS NOT NULL GROUP BY assignee_id;
@@ -0,0 +1,17 @@
+-- Версии для ETag: у строки - счетчик изменений (@Version), у таблицы - отметка последнего изменения.
+-- Отметки ведет TableVersionService, условные GET сравнивают их до загрузки данных
+ALTER TABLE tasks ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE labels ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE task_statuses ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE users ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE TABLE table_versions (
+    table_name VARCHAR(64) NOT NULL,
+    version    BIGINT      NOT NULL,
+    CONSTRAINT pk_table_versions PRIMARY KEY (table_name)
+);
+
+INSERT INTO table_versions (table_name, version) VALUES ('tasks', 0);
+INSERT INTO table_versions (table_name, version) VALUES ('labels', 0);
+INSERT INTO table_versions (table_name, version) VALUES ('task_statuses', 0);
+INSERT INTO table_versions (table_name, version) VALUES ('users', 0);
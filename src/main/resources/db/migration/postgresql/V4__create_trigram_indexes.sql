@@ -0,0 +1,25 @@
+-- Поиск задач (TaskSearchService) и фильтр titleCont: LIKE '%...%' и сходство через pg_trgm.
+-- Расширение - забота DBA: CREATE EXTENSION pg_trgm до первого запуска. Миграция ставит его сама,
+-- только если оно есть на сервере и роли приложения хватает прав. Иначе индексы не создаются,
+-- миграция все равно проходит, а TaskSearchService ищет простым LIKE без ранжирования.
+-- Если расширение поставлено позже, индексы ниже создаются вручную, приложение перезапускается
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT FROM pg_extension WHERE extname = 'pg_trgm')
+            AND EXISTS (SELECT FROM pg_available_extensions WHERE name = 'pg_trgm') THEN
+        BEGIN
+            CREATE EXTENSION pg_trgm;
+        EXCEPTION WHEN insufficient_privilege THEN
+            RAISE WARNING 'No privilege to create extension pg_trgm';
+        END;
+    END IF;
+
+    IF EXISTS (SELECT FROM pg_extension WHERE extname = 'pg_trgm') THEN
+        CREATE INDEX IF NOT EXISTS idx_tasks_name_trgm ON tasks USING gin (lower(name) gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_tasks_description_trgm
+            ON tasks USING gin (lower(coalesce(description, '')) gin_trgm_ops);
+    ELSE
+        RAISE WARNING 'Extension pg_trgm is missing, trigram indexes are not created';
+    END IF;
+END
+$$;
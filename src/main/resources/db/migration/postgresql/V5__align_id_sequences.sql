@@ -0,0 +1,7 @@
+-- Таблицы, созданные до перехода с IDENTITY на последовательности, уже содержат id:
+-- сдвигаем последовательности за максимальный id, чтобы новые id не пересекались со старыми
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM users), (SELECT last_value FROM users_seq)));
+SELECT setval('task_statuses_seq',
+              GREATEST((SELECT COALESCE(MAX(id), 0) FROM task_statuses), (SELECT last_value FROM task_statuses_seq)));
+SELECT setval('labels_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM labels), (SELECT last_value FROM labels_seq)));
+SELECT setval('tasks_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tasks), (SELECT last_value FROM tasks_seq)));
@@ -0,0 +1,280 @@
+package hexlet.code.app.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.app.AppApplication;
+import hexlet.code.app.dto.AuthRequest;
+import hexlet.code.app.dto.taskDTO.TaskCreateDTO;
+import hexlet.code.app.model.label.Label;
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.model.user.User;
+import hexlet.code.app.repository.LabelRepository;
+import hexlet.code.app.repository.TaskRepository;
+import hexlet.code.app.repository.TaskStatusRepository;
+import hexlet.code.app.repository.UserRepository;
+import hexlet.code.app.util.JWTUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Нагрузочный прогон по REST API на H2 в режиме PostgreSQL с одинаковым от запуска к запуску набором данных.
+// Запуск: ./gradlew benchmark --tests '*ApiLoadTest'
+// Параметры: -Dbenchmark.users=200 -Dbenchmark.tasks=20000 -Dbenchmark.labels=50 -Dbenchmark.seed=42
+//            -Dbenchmark.requests=2000 -Dbenchmark.logins=200 -Dbenchmark.concurrency=50
+// Отчет дополнительно пишется в JSON (benchmark.report), чтобы сравнивать прогоны с базовым
+@Slf4j
+@Tag("benchmark")
+public class ApiLoadTest {
+    private static final int USERS = Integer.getInteger("benchmark.users", 100);
+    private static final int TASKS = Integer.getInteger("benchmark.tasks", 10_000);
+    private static final int LABELS = Integer.getInteger("benchmark.labels", 30);
+    private static final long SEED = Long.getLong("benchmark.seed", 42L);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 2000);
+    // Вход упирается в BCrypt, поэтому запросов меньше
+    private static final int LOGINS = Integer.getInteger("benchmark.logins", 200);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 50);
+    private static final String REPORT = System.getProperty("benchmark.report", "build/reports/load-test/report.json");
+
+    private static final String DATASOURCE_URL = "jdbc:h2:mem:load;MODE=PostgreSQL";
+    private static final String PASSWORD = "load-password";
+    private static final String CREATED_PREFIX = "Load created ";
+    private static final int SEED_CHUNK = 1000;
+    private static final int TOKENS = 50;
+    private static final String[] WORDS = {"report", "deploy", "review", "invoice", "release", "backup",
+        "migrate", "design", "refactor", "support", "audit", "billing", "search", "export", "import"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpLoad load = new HttpLoad(CONCURRENCY);
+
+    @Test
+    @DisplayName("Вход, список с фильтрами, создание, изменение и удаление задач под нагрузкой")
+    public void apiUnderLoad() throws Exception {
+        var builder = new SpringApplicationBuilder(AppApplication.class)
+                .profiles("dev")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + DATASOURCE_URL,
+                        "spring.jpa.show-sql=false",
+                        "app.sql-budget.mode=none",
+                        "logging.level.org.springframework.web=INFO");
+
+        try (var context = builder.run()) {
+            var dataSet = seed(context);
+            var results = drive(context, dataSet);
+
+            log.info("API load test: {} users, {} tasks, {} labels, seed {}, concurrency {}",
+                    USERS, TASKS, LABELS, SEED, CONCURRENCY);
+            log.info(HttpLoad.header());
+            results.forEach((name, result) -> log.info(result.row(name)));
+            writeReport(results);
+
+            assertThat(results.values()).allSatisfy(result -> assertThat(result.errors()).isZero());
+        }
+    }
+
+    // === Данные ===
+
+    // Один и тот же seed дает те же имена, статусы, исполнителей и метки задач
+    private DataSet seed(ConfigurableApplicationContext context) {
+        var random = new Random(SEED);
+        var transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        var userRepository = context.getBean(UserRepository.class);
+        var labelRepository = context.getBean(LabelRepository.class);
+        var taskRepository = context.getBean(TaskRepository.class);
+        var statuses = context.getBean(TaskStatusRepository.class).findAll(Sort.by("id"));
+        // Хэш один на всех: при засеве BCrypt не считается тысячи раз
+        var digest = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        var users = transaction.execute(status -> {
+            var batch = new ArrayList<User>();
+            for (int i = 0; i < USERS; i++) {
+                batch.add(User.builder()
+                        .email("load-user-" + i + "@example.com")
+                        .firstName("Load")
+                        .lastName("User " + i)
+                        .passwordDigest(digest)
+                        .build());
+            }
+            return userRepository.saveAll(batch);
+        });
+        var labelIds = transaction.execute(status -> {
+            var batch = new ArrayList<Label>();
+            for (int i = 0; i < LABELS; i++) {
+                batch.add(Label.builder().name("load-label-" + i).build());
+            }
+            return labelRepository.saveAll(batch).stream().map(Label::getId).toList();
+        });
+        var userIds = users.stream().map(User::getId).toList();
+
+        for (int from = 0; from < TASKS; from += SEED_CHUNK) {
+            var to = Math.min(TASKS, from + SEED_CHUNK);
+            var start = from;
+            transaction.executeWithoutResult(status -> {
+                var batch = new ArrayList<Task>();
+                for (int i = start; i < to; i++) {
+                    var task = Task.builder()
+                            .name(word(random) + " " + word(random) + " " + i)
+                            .index(i + 1)
+                            .description("Load task " + i + ": " + word(random) + " " + word(random))
+                            .taskStatus(statuses.get(random.nextInt(statuses.size())))
+                            .build();
+                    // Каждая пятая задача без исполнителя
+                    if (random.nextInt(5) != 0) {
+                        task.setAssignee(userRepository.getReferenceById(userIds.get(random.nextInt(USERS))));
+                    }
+                    var labelCount = random.nextInt(4);
+                    for (int j = 0; j < labelCount; j++) {
+                        task.addLabel(labelRepository.getReferenceById(labelIds.get(random.nextInt(LABELS))));
+                    }
+                    batch.add(task);
+                }
+                taskRepository.saveAll(batch);
+            });
+        }
+
+        var jwtUtils = context.getBean(JWTUtils.class);
+        var tokens = users.stream().limit(TOKENS).map(jwtUtils::generateToken).toList();
+        var taskIds = context.getBean(JdbcTemplate.class).queryForList(
+                "SELECT id FROM tasks WHERE description LIKE 'Load task %' ORDER BY id", Long.class);
+        return new DataSet(users.stream().map(User::getEmail).toList(), userIds, labelIds,
+                statuses.stream().map(TaskStatus::getSlug).toList(), taskIds, tokens);
+    }
+
+    // === Нагрузка ===
+
+    private Map<String, HttpLoad.Result> drive(ConfigurableApplicationContext context, DataSet data)
+            throws Exception {
+        var baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        var random = new Random(SEED);
+        var results = new LinkedHashMap<String, HttpLoad.Result>();
+
+        var logins = new ArrayList<String>();
+        for (int i = 0; i < LOGINS; i++) {
+            logins.add(json(new AuthRequest(data.emails().get(i % data.emails().size()), PASSWORD)));
+        }
+        results.put("POST /api/login", load.run(LOGINS, i ->
+                HttpRequest.newBuilder(URI.create(baseUri + "/api/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(logins.get(i)))
+                        .build()));
+
+        var queries = new ArrayList<String>();
+        for (int i = 0; i < REQUESTS; i++) {
+            queries.add(listQuery(random, data));
+        }
+        results.put("GET /api/tasks (filters)", load.run(REQUESTS, i ->
+                authorized(data, i, baseUri + "/api/tasks?" + queries.get(i)).GET().build()));
+
+        var creates = new ArrayList<String>();
+        for (int i = 0; i < REQUESTS; i++) {
+            var labels = List.of(data.labelIds().get(random.nextInt(data.labelIds().size())));
+            creates.add(json(new TaskCreateDTO(CREATED_PREFIX + i, i + 1,
+                    data.userIds().get(random.nextInt(data.userIds().size())), "Created under load",
+                    data.statuses().get(random.nextInt(data.statuses().size())), labels)));
+        }
+        results.put("POST /api/tasks", load.run(REQUESTS, i ->
+                authorized(data, i, baseUri + "/api/tasks")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(creates.get(i)))
+                        .build()));
+
+        results.put("PATCH /api/tasks/{id}", load.run(REQUESTS, i -> {
+            var id = data.taskIds().get(i % data.taskIds().size());
+            return authorized(data, i, baseUri + "/api/tasks/" + id)
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                            json(Map.of("title", "Patched " + i, "content", "Patched under load"))))
+                    .build();
+        }));
+
+        var created = context.getBean(JdbcTemplate.class).queryForList(
+                "SELECT id FROM tasks WHERE name LIKE '" + CREATED_PREFIX + "%' ORDER BY id", Long.class);
+        results.put("DELETE /api/tasks/{id}", load.run(created.size(), i ->
+                authorized(data, i, baseUri + "/api/tasks/" + created.get(i)).DELETE().build()));
+        return results;
+    }
+
+    // Случайная комбинация фильтров списка, как у клиента: статус, исполнитель, метка, подстрока названия
+    private String listQuery(Random random, DataSet data) {
+        var params = new ArrayList<String>();
+        params.add("_start=0");
+        params.add("_end=20");
+        params.add(random.nextBoolean() ? "_sort=id" : "_sort=createdAt");
+        params.add(random.nextBoolean() ? "_order=ASC" : "_order=DESC");
+        if (random.nextInt(3) == 0) {
+            params.add("status=" + data.statuses().get(random.nextInt(data.statuses().size())));
+        }
+        if (random.nextInt(3) == 0) {
+            params.add("assigneeId=" + data.userIds().get(random.nextInt(data.userIds().size())));
+        }
+        if (random.nextInt(4) == 0) {
+            params.add("labelId=" + data.labelIds().get(random.nextInt(data.labelIds().size())));
+        }
+        if (random.nextInt(4) == 0) {
+            params.add("titleCont=" + URLEncoder.encode(word(random), StandardCharsets.UTF_8));
+        }
+        return String.join("&", params);
+    }
+
+    private HttpRequest.Builder authorized(DataSet data, int index, String uri) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Authorization", "Bearer " + data.tokens().get(index % data.tokens().size()));
+    }
+
+    // === Отчет ===
+
+    private void writeReport(Map<String, HttpLoad.Result> results) throws Exception {
+        var config = new LinkedHashMap<String, Object>();
+        config.put("users", USERS);
+        config.put("tasks", TASKS);
+        config.put("labels", LABELS);
+        config.put("seed", SEED);
+        config.put("requests", REQUESTS);
+        config.put("logins", LOGINS);
+        config.put("concurrency", CONCURRENCY);
+        config.put("datasource", DATASOURCE_URL);
+
+        var path = Path.of(REPORT);
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter()
+                .writeValue(path.toFile(), Map.of("config", config, "results", results));
+        log.info("Load test report written to {}", path.toAbsolutePath());
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private record DataSet(List<String> emails, List<Long> userIds, List<Long> labelIds, List<String> statuses,
+                           List<Long> taskIds, List<String> tokens) { }
+}
@@ -0,0 +1,93 @@
+package hexlet.code.app.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+// Прогон запросов к запущенному приложению: не больше concurrency одновременно, задержка каждого запроса
+// и память, выделенная всеми потоками JVM за прогон (сервер и клиент в одном процессе)
+final class HttpLoad {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final int concurrency;
+
+    HttpLoad(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    Result run(int count, IntFunction<HttpRequest> requests) throws Exception {
+        var latencies = new long[count];
+        var errors = new AtomicInteger();
+        var permits = new Semaphore(concurrency);
+        var calls = new ArrayList<Callable<Void>>();
+        for (int i = 0; i < count; i++) {
+            var index = i;
+            calls.add(() -> {
+                permits.acquire();
+                try {
+                    var start = System.nanoTime();
+                    var response = client.send(requests.apply(index), HttpResponse.BodyHandlers.discarding());
+                    latencies[index] = System.nanoTime() - start;
+                    if (response.statusCode() >= 400) {
+                        errors.incrementAndGet();
+                    }
+                } finally {
+                    permits.release();
+                }
+                return null;
+            });
+        }
+
+        var allocatedBefore = allocatedBytes();
+        var start = System.nanoTime();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var future : executor.invokeAll(calls)) {
+                future.get();
+            }
+        }
+        var elapsed = System.nanoTime() - start;
+        var allocated = allocatedBytes() - allocatedBefore;
+
+        Arrays.sort(latencies);
+        return new Result(count, count * 1e9 / elapsed, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                errors.get(), allocated / 1e6 / (elapsed / 1e9), allocated / 1e3 / count);
+    }
+
+    static String header() {
+        return String.format("%-30s %8s %10s %10s %10s %7s %10s %10s",
+                "scenario", "requests", "req/s", "p50 ms", "p99 ms", "errors", "alloc MB/s", "KB/req");
+    }
+
+    // Без поддержки замера (не HotSpot) память не считается
+    private static long allocatedBytes() {
+        return THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled()
+                ? THREADS.getTotalThreadAllocatedBytes()
+                : 0;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        var index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    record Result(int requests, double throughput, double p50Millis, double p99Millis, int errors,
+                  double allocationMbPerSecond, double allocationKbPerRequest) {
+
+        String row(String scenario) {
+            return String.format("%-30s %8d %10.0f %10.1f %10.1f %7d %10.1f %10.1f", scenario, requests,
+                    throughput, p50Millis, p99Millis, errors, allocationMbPerSecond, allocationKbPerRequest);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package hexlet.code.app.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.app.AppApplication;
+import hexlet.code.app.dto.taskDTO.TaskCreateDTO;
+import hexlet.code.app.repository.TaskStatusRepository;
+import hexlet.code.app.repository.UserRepository;
+import hexlet.code.app.util.JWTUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Сравнение режимов потоков на списке и создании задач. Запуск: ./gradlew benchmark
+// Параметры: -Dbenchmark.requests=5000 -Dbenchmark.concurrency=200
+@Slf4j
+@Tag("benchmark")
+public class VirtualThreadBenchmarkTest {
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 5000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 200);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpLoad load = new HttpLoad(CONCURRENCY);
+
+    @Test
+    @DisplayName("Платформенные и виртуальные потоки на /api/tasks")
+    public void compareThreadModes() throws Exception {
+        var results = new LinkedHashMap<String, HttpLoad.Result>();
+        results.putAll(run("platform"));
+        results.putAll(run("virtual"));
+
+        log.info("Thread mode benchmark: {} requests, concurrency {}", REQUESTS, CONCURRENCY);
+        log.info(HttpLoad.header());
+        results.forEach((name, result) -> log.info(result.row(name)));
+
+        assertThat(results.values()).allSatisfy(result -> assertThat(result.errors()).isZero());
+    }
+
+    private Map<String, HttpLoad.Result> run(String mode) throws Exception {
+        var builder = new SpringApplicationBuilder(AppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + mode,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.springframework.web=INFO");
+        builder.profiles(mode.equals("virtual") ? new String[] {"dev", "virtual"} : new String[] {"dev"});
+
+        try (var context = builder.run()) {
+            var baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            var token = token(context);
+            var status = context.getBean(TaskStatusRepository.class).findAll().get(0).getSlug();
+
+            var results = new LinkedHashMap<String, HttpLoad.Result>();
+            results.put(mode + " POST /api/tasks", load.run(REQUESTS, i -> {
+                var task = new TaskCreateDTO("Benchmark " + i, i + 1, null, "Load test task", status, null);
+                return HttpRequest.newBuilder(URI.create(baseUri + "/api/tasks"))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json(task)))
+                        .build();
+            }));
+            results.put(mode + " GET /api/tasks", load.run(REQUESTS, i ->
+                    HttpRequest.newBuilder(URI.create(baseUri + "/api/tasks?_start=0&_end=20&_sort=id&_order=ASC"))
+                            .header("Authorization", "Bearer " + token)
+                            .GET()
+                            .build()));
+            return results;
+        }
+    }
+
+    private String token(ConfigurableApplicationContext context) {
+        var user = context.getBean(UserRepository.class).findAll().get(0);
+        return context.getBean(JWTUtils.class).generateToken(user);
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
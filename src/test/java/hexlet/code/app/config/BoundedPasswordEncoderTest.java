@@ -0,0 +1,90 @@
+package hexlet.code.app.config;
+
+import hexlet.code.app.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    public void setUp() {
+        // Хэширование ждет release, чтобы можно было занять пул и очередь
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        encoder = new BoundedPasswordEncoder(slow, 1, 1, registry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    @DisplayName("Сверх потоков и очереди запрос сразу отклоняется")
+    public void encode_WhenSaturated_ShouldRejectFast() throws Exception {
+        var running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        var queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        while (registry.get("password.hash.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> encoder.encode("third")).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(registry.get("password.hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:second");
+    }
+
+    @Test
+    @DisplayName("Время хэширования попадает в метрику password.hash")
+    public void encodeAndMatches_ShouldRecordDuration() {
+        release.countDown();
+
+        assertThat(encoder.matches("secret", encoder.encode("secret"))).isTrue();
+
+        assertThat(registry.get("password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(registry.get("password.hash").tag("operation", "matches").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Подобранная сложность не выходит за границы")
+    public void calibrate_ShouldStayWithinBounds() {
+        assertThat(BoundedPasswordEncoder.calibrate(Duration.ZERO, 4, 6)).isEqualTo(4);
+        assertThat(BoundedPasswordEncoder.calibrate(Duration.ofHours(1), 4, 6)).isEqualTo(6);
+    }
+}
@@ -0,0 +1,118 @@
+package hexlet.code.app.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CachingJwtDecoderTest {
+    private static final Duration TOKEN_LIFETIME = Duration.ofMinutes(30);
+
+    private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-01-01T00:00:00Z"));
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+    };
+
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    public void setUp() {
+        // Токены "valid-*" выдаются на TOKEN_LIFETIME от начала теста, остальные отклоняются как подделка
+        var issuedAt = now.get();
+        JwtDecoder verifier = token -> {
+            verifications.incrementAndGet();
+            if (!token.startsWith("valid-")) {
+                throw new BadJwtException("Bad signature");
+            }
+            if (!now.get().isBefore(issuedAt.plus(TOKEN_LIFETIME))) {
+                throw new JwtValidationException("Token expired", List.of());
+            }
+            return Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .subject(token)
+                    .issuedAt(issuedAt)
+                    .expiresAt(issuedAt.plus(TOKEN_LIFETIME))
+                    .build();
+        };
+        decoder = new CachingJwtDecoder(verifier, 100, Duration.ofHours(1), clock);
+    }
+
+    @Test
+    @DisplayName("Повторный токен не проверяется заново")
+    public void decode_SameToken_ShouldVerifyOnce() {
+        var first = decoder.decode("valid-1");
+        var second = decoder.decode("valid-1");
+        decoder.decode("valid-2");
+
+        assertThat(second).isSameAs(first);
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("После exp токен снова проверяется и отклоняется")
+    public void decode_ExpiredToken_ShouldBeRejected() {
+        decoder.decode("valid-1");
+        now.set(now.get().plus(TOKEN_LIFETIME));
+
+        assertThatThrownBy(() -> decoder.decode("valid-1")).isInstanceOf(JwtValidationException.class);
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Невалидный токен не кэшируется")
+    public void decode_InvalidToken_ShouldNotBeCached() {
+        assertThatThrownBy(() -> decoder.decode("forged")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("forged")).isInstanceOf(BadJwtException.class);
+
+        assertThat(verifications).hasValue(2);
+        assertThat(decoder.getCache().estimatedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Параллельные запросы с одним токеном проверяют подпись один раз")
+    public void decode_Concurrently_ShouldVerifyOnce() throws Exception {
+        var tasks = new ArrayList<Callable<Jwt>>();
+        for (int i = 0; i < 32; i++) {
+            tasks.add(() -> decoder.decode("valid-shared"));
+        }
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (var result : executor.invokeAll(tasks)) {
+                assertThat(result.get().getSubject()).isEqualTo("valid-shared");
+            }
+        }
+
+        assertThat(verifications).hasValue(1);
+    }
+}
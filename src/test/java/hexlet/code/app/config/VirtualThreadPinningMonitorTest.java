@@ -0,0 +1,56 @@
+package hexlet.code.app.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnJre;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// С JDK 24 synchronized больше не закрепляет виртуальный поток, проверяем на целевой 21
+@SpringBootTest
+@ActiveProfiles({"dev", "test", "virtual"})
+@EnabledOnJre(JRE.JAVA_21)
+public class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Autowired
+    private VirtualThreadPinningMonitor monitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Закрепление потока в нашем коде попадает в метрику")
+    public void pinnedInAppCode_ShouldBeCounted() throws Exception {
+        assertThat(monitor.isRunning()).isTrue();
+        var counter = meterRegistry.get("jvm.threads.virtual.pinned").tag("app", "true").counter();
+        var before = counter.count();
+
+        Thread.ofVirtual().start(this::sleepHoldingMonitor).join();
+
+        // События JFR приходят в поток с задержкой сброса буфера
+        var deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (counter.count() == before && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(counter.count()).isGreaterThan(before);
+    }
+
+    private void sleepHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
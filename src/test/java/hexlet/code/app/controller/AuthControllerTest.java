@@ -0,0 +1,81 @@
+package hexlet.code.app.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.app.dto.AuthRequest;
+import hexlet.code.app.model.user.User;
+import hexlet.code.app.repository.UserRepository;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+@Transactional
+public class AuthControllerTest {
+    private static final String EMAIL = "login@example.com";
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void setUp() {
+        // Хэш в старом формате: без префикса {bcrypt} и с меньшей сложностью
+        userRepository.save(User.builder()
+                .email(EMAIL)
+                .passwordDigest(new BCryptPasswordEncoder(4).encode(PASSWORD))
+                .firstName("Login")
+                .lastName("User")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Вход со старым хэшем проходит и пересчитывает хэш")
+    public void login_LegacyHash_ShouldUpgrade() throws Exception {
+        mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthRequest(EMAIL, PASSWORD))))
+                .andExpect(status().isOk());
+
+        var digest = userRepository.findByEmail(EMAIL).orElseThrow().getPasswordDigest();
+        assertThat(digest).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.upgradeEncoding(digest)).isFalse();
+        assertThat(passwordEncoder.matches(PASSWORD, digest)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Неверный пароль не меняет хэш")
+    public void login_WrongPassword_ShouldNotUpgrade() throws Exception {
+        var before = userRepository.findByEmail(EMAIL).orElseThrow().getPasswordDigest();
+
+        mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthRequest(EMAIL, "wrong-password"))))
+                .andExpect(status().isUnauthorized());
+
+        assertThat(userRepository.findByEmail(EMAIL).orElseThrow().getPasswordDigest()).isEqualTo(before);
+    }
+}
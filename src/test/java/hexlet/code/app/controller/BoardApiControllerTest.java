@@ -0,0 +1,146 @@
+package hexlet.code.app.controller;
+
+import hexlet.code.app.model.label.Label;
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.model.user.User;
+import hexlet.code.app.repository.LabelRepository;
+import hexlet.code.app.repository.TaskRepository;
+import hexlet.code.app.repository.TaskStatusRepository;
+import hexlet.code.app.repository.UserRepository;
+import hexlet.code.app.util.JWTUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles({"dev", "test"})
+public class BoardApiControllerTest {
+    private static final String TODO = "$[?(@.slug == 'board_todo')]";
+    private static final String DONE = "$[?(@.slug == 'board_done')]";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    private String userToken;
+    private User testUser;
+    private Label testLabel;
+
+    @BeforeEach
+    public void setUp() {
+        testUser = userRepository.save(User.builder()
+                .email("board@example.com")
+                .passwordDigest("digest")
+                .firstName("Board")
+                .lastName("User")
+                .build());
+        userToken = jwtUtils.generateToken(testUser);
+
+        var todo = taskStatusRepository.save(TaskStatus.builder().name("Board todo").slug("board_todo").build());
+        taskStatusRepository.save(TaskStatus.builder().name("Board done").slug("board_done").build());
+        testLabel = labelRepository.save(Label.builder().name("board-label").build());
+
+        // Порядок в колонке - по index, задача без index последней
+        taskRepository.save(Task.builder().name("Third").index(3).taskStatus(todo).build());
+        taskRepository.save(Task.builder().name("First").index(1).taskStatus(todo).assignee(testUser).build());
+        var second = Task.builder().name("Second board task").index(2).taskStatus(todo).build();
+        second.addLabel(testLabel);
+        taskRepository.save(second);
+        taskRepository.save(Task.builder().name("No index").taskStatus(todo).build());
+
+        // Доска читается через JdbcTemplate, мимо автоматического flush Hibernate
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("GET /api/board - первые задачи каждого статуса и их общее число")
+    public void board_ShouldReturnFirstTasksPerStatus() throws Exception {
+        mockMvc.perform(get("/api/board?limit=2").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(TODO + ".totalTasks").value(contains(4)))
+                .andExpect(jsonPath(TODO + ".tasks[*].index").value(contains(1, 2)))
+                .andExpect(jsonPath(TODO + ".tasks[*].status").value(contains("board_todo", "board_todo")))
+                .andExpect(jsonPath(TODO + ".tasks[1].taskLabelIds[*]").value(contains(testLabel.getId().intValue())))
+                .andExpect(jsonPath(DONE + ".totalTasks").value(contains(0)))
+                .andExpect(jsonPath(DONE + ".tasks[*]").value(empty()));
+    }
+
+    @Test
+    @DisplayName("GET /api/board - limit=0 отдает только итоги колонок")
+    public void board_ZeroLimit_ShouldKeepTotals() throws Exception {
+        mockMvc.perform(get("/api/board?limit=0").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(TODO + ".totalTasks").value(contains(4)))
+                .andExpect(jsonPath(TODO + ".tasks[*]").value(empty()));
+    }
+
+    @Test
+    @DisplayName("GET /api/board - задача без index в конце колонки")
+    public void board_ShouldPutTasksWithoutIndexLast() throws Exception {
+        mockMvc.perform(get("/api/board?limit=10").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(TODO + ".tasks[*].title").value(contains("First", "Second board task", "Third",
+                        "No index")));
+    }
+
+    @Test
+    @DisplayName("GET /api/board - фильтры по исполнителю, метке и названию сужают колонки")
+    public void board_ShouldApplyFilters() throws Exception {
+        mockMvc.perform(get("/api/board?assigneeId=" + testUser.getId())
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(TODO + ".totalTasks").value(contains(1)))
+                .andExpect(jsonPath(TODO + ".tasks[*].title").value(contains("First")));
+
+        mockMvc.perform(get("/api/board?labelId=" + testLabel.getId())
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(TODO + ".tasks[*].title").value(contains("Second board task")));
+
+        mockMvc.perform(get("/api/board?titleCont=BOARD TASK")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(TODO + ".totalTasks").value(contains(1)))
+                .andExpect(jsonPath(DONE + ".totalTasks").value(contains(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/board - без токена 401")
+    public void board_Unauthenticated_ShouldReturn401() throws Exception {
+        mockMvc.perform(get("/api/board"))
+                .andExpect(status().isUnauthorized());
+    }
+}
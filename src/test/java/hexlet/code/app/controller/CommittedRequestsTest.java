@@ -0,0 +1,247 @@
+package hexlet.code.app.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.app.model.label.Label;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.model.user.User;
+import hexlet.code.app.repository.LabelRepository;
+import hexlet.code.app.repository.TaskRepository;
+import hexlet.code.app.repository.TaskStatusRepository;
+import hexlet.code.app.repository.UserRepository;
+import hexlet.code.app.service.LabelService;
+import hexlet.code.app.service.TaskService;
+import hexlet.code.app.service.TaskStatusService;
+import hexlet.code.app.service.UserService;
+import hexlet.code.app.util.JWTUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Без @Transactional: каждый запрос коммитится сам, как в работающем приложении.
+// Так видны ошибки, которые проявляются только при коммите или в следующей транзакции
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+public class CommittedRequestsTest {
+    private static final String TODO = "$.byStatus[?(@.slug == 'committed_status')].count";
+    private static final String DONE = "$.byStatus[?(@.slug == 'committed_done')].count";
+    private static final String ASSIGNED = "$.byAssignee[?(@.email == 'committed@example.com')].count";
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskStatusService taskStatusService;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private LabelService labelService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    private final List<Long> taskIds = new ArrayList<>();
+    private String userToken;
+    private User testUser;
+    private TaskStatus testStatus;
+    private TaskStatus doneStatus;
+    private Label testLabel;
+
+    @BeforeEach
+    public void setUp() {
+        testUser = userRepository.save(User.builder()
+                .email("committed@example.com")
+                .passwordDigest("digest")
+                .firstName("Committed")
+                .lastName("User")
+                .build());
+        userToken = jwtUtils.generateToken(testUser);
+        testStatus = taskStatusRepository.save(TaskStatus.builder()
+                .name("Committed status")
+                .slug("committed_status")
+                .build());
+        doneStatus = taskStatusRepository.save(TaskStatus.builder()
+                .name("Committed done")
+                .slug("committed_done")
+                .build());
+        testLabel = labelRepository.save(Label.builder().name("committed-label").build());
+    }
+
+    // Через сервисы, чтобы вместе с данными убрать и их счетчики
+    @AfterEach
+    public void tearDown() {
+        taskIds.forEach(taskService::delete);
+        taskStatusService.delete(testStatus.getId());
+        taskStatusService.delete(doneStatus.getId());
+        labelService.delete(testLabel.getId());
+        userService.delete(testUser.getId());
+    }
+
+    @Test
+    @DisplayName("Вторая задача с тем же статусом берет его из кэша и создается")
+    public void createTwoTasksWithSameStatus_ShouldSucceed() throws Exception {
+        createTask("First");
+        createTask("Second");
+    }
+
+    @Test
+    @DisplayName("Создание и перенос задачи попадают в счетчики после коммита запроса")
+    public void taskWrites_ShouldUpdateCountersOnCommit() throws Exception {
+        var id = createTask("Counted");
+
+        mockMvc.perform(get("/api/tasks/stats")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(TODO, contains(1)))
+                .andExpect(jsonPath(DONE, contains(0)))
+                .andExpect(jsonPath(ASSIGNED, contains(1)));
+
+        mockMvc.perform(patch("/api/tasks/{id}", id)
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("status", doneStatus.getSlug()))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/stats")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(TODO, contains(0)))
+                .andExpect(jsonPath(DONE, contains(1)))
+                .andExpect(jsonPath(ASSIGNED, contains(1)));
+    }
+
+    @Test
+    @DisplayName("Создание задачи меняет ETag списка после коммита запроса")
+    public void taskWrites_ShouldChangeListETag() throws Exception {
+        var etag = mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        createTask("Tagged");
+
+        var changed = mockMvc.perform(get("/api/tasks")
+                        .header("Authorization", "Bearer " + userToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotNull().isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("PATCH во время чужой транзакции над той же задачей - побеждает последняя запись, без ошибок")
+    public void concurrentTaskWrites_LastWriteShouldWin() throws Exception {
+        var id = createTask("Raced");
+
+        var transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var task = taskRepository.findById(id).orElseThrow();
+            // Запрос коммитится, пока эта транзакция держит задачу со старой версией
+            executor.submit(() -> mockMvc.perform(patch("/api/tasks/{id}", id)
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("title", "From request"))))
+                    .andExpect(status().isOk())).get();
+            task.setName("From transaction");
+        } catch (Exception e) {
+            transactionManager.rollback(transaction);
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+        transactionManager.commit(transaction);
+
+        mockMvc.perform(get("/api/tasks/{id}", id)
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("From transaction"));
+    }
+
+    @Test
+    @DisplayName("Список задач и удаление пользователя укладываются в @SqlBudget, когда ничего не загружено заранее")
+    public void budgetedEndpoints_ShouldStayWithinBudget() throws Exception {
+        // Больше страницы, чтобы понадобился и count(*)
+        for (int i = 0; i <= PAGE_SIZE; i++) {
+            createTask("Budget " + i);
+        }
+        mockMvc.perform(get("/api/tasks")
+                        .param("_end", String.valueOf(PAGE_SIZE))
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+
+        var user = userRepository.save(User.builder()
+                .email("committed-delete@example.com")
+                .passwordDigest("digest")
+                .firstName("Committed")
+                .lastName("Delete")
+                .build());
+        mockMvc.perform(delete("/api/users/{id}", user.getId())
+                        .header("Authorization", "Bearer " + jwtUtils.generateToken(user)))
+                .andExpect(status().isNoContent());
+    }
+
+    private Long createTask(String title) throws Exception {
+        var body = Map.of("title", title, "status", testStatus.getSlug(), "assignee_id", testUser.getId(),
+                "taskLabelIds", List.of(testLabel.getId()));
+        var response = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value(testStatus.getSlug()))
+                .andReturn().getResponse().getContentAsString();
+        var id = objectMapper.readTree(response).get("id").asLong();
+        taskIds.add(id);
+        return id;
+    }
+}
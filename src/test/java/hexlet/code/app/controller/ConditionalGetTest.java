@@ -0,0 +1,176 @@
+package hexlet.code.app.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.app.model.label.Label;
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.model.user.User;
+import hexlet.code.app.repository.LabelRepository;
+import hexlet.code.app.repository.TaskRepository;
+import hexlet.code.app.repository.TaskStatusRepository;
+import hexlet.code.app.repository.UserRepository;
+import hexlet.code.app.util.JWTUtils;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles({"dev", "test"})
+public class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    private String userToken;
+    private Task testTask;
+
+    @BeforeEach
+    public void setUp() {
+        var testUser = userRepository.save(User.builder()
+                .email("etag@example.com")
+                .passwordDigest("digest")
+                .firstName("Etag")
+                .lastName("User")
+                .build());
+        userToken = jwtUtils.generateToken(testUser);
+
+        var status = taskStatusRepository.save(TaskStatus.builder().name("Etag status").slug("etag_status").build());
+        labelRepository.save(Label.builder().name("etag-label").build());
+        testTask = taskRepository.save(Task.builder().name("Etag task").taskStatus(status).build());
+    }
+
+    @Test
+    @DisplayName("Повтор списка меток с If-None-Match - 304 без запросов Hibernate, новая метка меняет ETag")
+    public void labels_ShouldReturn304UntilChanged() throws Exception {
+        var etag = etag("/api/labels");
+
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/labels")
+                        .header("Authorization", "Bearer " + userToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        mockMvc.perform(post("/api/labels")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", "etag-new"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/labels")
+                        .header("Authorization", "Bearer " + userToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        assertThat(etag("/api/labels")).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("ETag задачи меняется с ее версией, а не с изменениями других задач")
+    public void task_ShouldUseRowVersion() throws Exception {
+        var url = "/api/tasks/" + testTask.getId();
+        var etag = etag(url);
+        var listEtag = etag("/api/tasks");
+
+        // Другая задача не трогает ETag этой, но меняет ETag списка
+        mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("title", "Other", "status", "etag_status"))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer " + userToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertThat(etag("/api/tasks")).isNotEqualTo(listEtag);
+
+        mockMvc.perform(patch(url)
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("title", "Renamed"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer " + userToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Переименование статуса меняет ETag задачи: в ней слаг статуса")
+    public void statusChange_ShouldChangeTaskEtag() throws Exception {
+        var url = "/api/tasks/" + testTask.getId();
+        var etag = etag(url);
+
+        mockMvc.perform(patch("/api/task_statuses/" + testTask.getTaskStatus().getId())
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("slug", "etag_renamed"))))
+                .andExpect(status().isOk());
+
+        assertThat(etag(url)).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("Несуществующая задача - 404, а не 304")
+    public void missingTask_ShouldReturn404() throws Exception {
+        mockMvc.perform(get("/api/tasks/99999999")
+                        .header("Authorization", "Bearer " + userToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String etag(String url) throws Exception {
+        var etag = mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+}
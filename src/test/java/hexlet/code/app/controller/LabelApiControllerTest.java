@@ -2,8 +2,12 @@ package hexlet.code.app.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hexlet.code.app.model.label.Label;
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.model.taskStatus.TaskStatus;
 import hexlet.code.app.model.user.User;
 import hexlet.code.app.repository.LabelRepository;
+import hexlet.code.app.repository.TaskRepository;
+import hexlet.code.app.repository.TaskStatusRepository;
 import hexlet.code.app.repository.UserRepository;
 import hexlet.code.app.util.JWTUtils;
 import jakarta.transaction.Transactional;
@@ -20,6 +24,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -44,6 +49,12 @@ public class LabelApiControllerTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -137,6 +148,22 @@ public class LabelApiControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @DisplayName("DELETE метки, назначенной задаче (conflict 409)")
+    public void deleteLabel_AttachedToTask_ShouldReturn409() throws Exception {
+        var status = taskStatusRepository.save(TaskStatus.builder().name("Label status").slug("label_status").build());
+        var task = Task.builder().name("Labeled").taskStatus(status).build();
+        task.addLabel(testLabel);
+        taskRepository.save(task);
+
+        mockMvc.perform(delete("/api/labels/" + testLabel.getId())
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Невозможно удалить метку. Она назначена 1 задачам!"));
+
+        assertThat(labelRepository.existsById(testLabel.getId())).isTrue();
+    }
+
     @Test
     @DisplayName("DELETE не успешное удаление лейбола, не авторизованным пользователем (статус 403)")
     public void deleteLabel_Unauthenticated_ShouldRetorn403() throws Exception {
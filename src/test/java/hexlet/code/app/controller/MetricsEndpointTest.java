@@ -0,0 +1,96 @@
+package hexlet.code.app.controller;
+
+import hexlet.code.app.model.user.User;
+import hexlet.code.app.repository.UserRepository;
+import hexlet.code.app.util.JWTUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles({"dev", "test"})
+@Transactional
+public class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    private String token;
+
+    @BeforeEach
+    public void setUp() {
+        var user = userRepository.save(User.builder()
+                .email("metrics@example.com")
+                .passwordDigest("digest")
+                .firstName("Metrics")
+                .lastName("User")
+                .build());
+        token = jwtUtils.generateToken(user);
+    }
+
+    @Test
+    @DisplayName("Запрос учитывается в таймере сервиса и в счетчике SQL на запрос")
+    public void request_ShouldRecordServiceAndSqlMetrics() throws Exception {
+        var serviceCalls = serviceTimerCount();
+        var sqlRequests = sqlSummaryCount();
+
+        mockMvc.perform(get("/api/task_statuses").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertThat(serviceTimerCount()).isEqualTo(serviceCalls + 1);
+        assertThat(sqlSummaryCount()).isEqualTo(sqlRequests + 1);
+        assertThat(meterRegistry.get("http.server.requests.sql").tag("uri", "/api/task_statuses")
+                .summary().totalAmount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Метрики отдаются в формате Prometheus")
+    public void prometheus_ShouldExposeAppMetrics() throws Exception {
+        mockMvc.perform(get("/api/task_statuses").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("service_method_seconds_count")))
+                .andExpect(content().string(containsString("http_server_requests_sql_statements")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds")));
+    }
+
+    private long serviceTimerCount() {
+        var timer = meterRegistry.find("service.method")
+                .tags("class", "TaskStatusService", "method", "findAll", "exception", "none")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private long sqlSummaryCount() {
+        var summary = meterRegistry.find("http.server.requests.sql").tag("uri", "/api/task_statuses").summary();
+        return summary == null ? 0 : summary.count();
+    }
+}
@@ -0,0 +1,124 @@
+package hexlet.code.app.controller;
+
+import hexlet.code.app.dto.userDTO.UserPartiallyUpdateDTO;
+import hexlet.code.app.model.user.User;
+import hexlet.code.app.repository.UserRepository;
+import hexlet.code.app.service.PrincipalCache;
+import hexlet.code.app.service.UserService;
+import hexlet.code.app.util.JWTUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Без @Transactional: в кэш попадают только закоммиченные пользователи
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+public class PrincipalCacheTest {
+    private static final String EMAIL = "principal@example.com";
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        user = userRepository.save(User.builder()
+                .email(EMAIL)
+                .passwordDigest(passwordEncoder.encode(PASSWORD))
+                .firstName("Principal")
+                .lastName("Cache")
+                .build());
+        cacheManager.getCache(PrincipalCache.PRINCIPALS).clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userRepository.findById(user.getId()).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    @DisplayName("Запрос с JWT не читает таблицу users")
+    public void bearerRequest_ShouldNotLoadUser() throws Exception {
+        var token = jwtUtils.generateToken(user);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertThat(userLoads()).isZero();
+    }
+
+    @Test
+    @DisplayName("Повторный вход по паролю берет пользователя из кэша")
+    public void basicRequest_ShouldUseCachedPrincipal() throws Exception {
+        mockMvc.perform(get("/api/tasks").with(httpBasic(EMAIL, PASSWORD)))
+                .andExpect(status().isOk());
+
+        statistics.clear();
+        mockMvc.perform(get("/api/tasks").with(httpBasic(EMAIL, PASSWORD)))
+                .andExpect(status().isOk());
+
+        assertThat(userLoads()).isZero();
+    }
+
+    @Test
+    @DisplayName("Смена пароля через сервис сбрасывает кэш")
+    public void passwordChange_ShouldEvictPrincipal() throws Exception {
+        mockMvc.perform(get("/api/tasks").with(httpBasic(EMAIL, PASSWORD)))
+                .andExpect(status().isOk());
+        assertThat(cacheManager.getCache(PrincipalCache.PRINCIPALS).get(EMAIL)).isNotNull();
+
+        userService.partialUpdate(user.getId(), new UserPartiallyUpdateDTO(JsonNullable.undefined(),
+                JsonNullable.undefined(), JsonNullable.undefined(), JsonNullable.of("new-password")));
+
+        assertThat(cacheManager.getCache(PrincipalCache.PRINCIPALS).get(EMAIL)).isNull();
+        mockMvc.perform(get("/api/tasks").with(httpBasic(EMAIL, PASSWORD)))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/tasks").with(httpBasic(EMAIL, "new-password")))
+                .andExpect(status().isOk());
+    }
+
+    private long userLoads() {
+        return statistics.getEntityStatistics(User.class.getName()).getLoadCount();
+    }
+}
@@ -0,0 +1,104 @@
+package hexlet.code.app.controller;
+
+import hexlet.code.app.config.SqlBudget;
+import hexlet.code.app.exception.SqlBudgetExceededException;
+import hexlet.code.app.model.user.User;
+import hexlet.code.app.repository.UserRepository;
+import hexlet.code.app.util.JWTUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// В профиле test бюджет проверяется в режиме fail
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"dev", "test"})
+@Transactional
+@Import(SqlBudgetTest.BudgetedController.class)
+public class SqlBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    private String token;
+
+    @BeforeEach
+    public void setUp() {
+        var user = userRepository.save(User.builder()
+                .email("sql-budget@example.com")
+                .passwordDigest("digest")
+                .firstName("Sql")
+                .lastName("Budget")
+                .build());
+        token = jwtUtils.generateToken(user);
+    }
+
+    @Test
+    @DisplayName("Запросы в пределах бюджета проходят")
+    public void withinBudget_ShouldPass() throws Exception {
+        mockMvc.perform(get("/api/sql-budget/2").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Превышение бюджета роняет запрос")
+    public void overBudget_ShouldFail() {
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/sql-budget/3")
+                .header("Authorization", "Bearer " + token)))
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessageContaining("GET /api/sql-budget/{queries}")
+                .hasMessageContaining("3 queries, budget 2");
+    }
+
+    @Test
+    @DisplayName("Методы без бюджета не проверяются")
+    public void unbudgeted_ShouldPass() throws Exception {
+        mockMvc.perform(get("/api/sql-budget/unlimited/5").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @RestController
+    static class BudgetedController {
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @GetMapping("/api/sql-budget/{queries}")
+        @SqlBudget(2)
+        public void budgeted(@PathVariable("queries") int queries) {
+            runQueries(queries);
+        }
+
+        @GetMapping("/api/sql-budget/unlimited/{queries}")
+        public void unlimited(@PathVariable("queries") int queries) {
+            runQueries(queries);
+        }
+
+        private void runQueries(int queries) {
+            for (int i = 0; i < queries; i++) {
+                entityManager.createNativeQuery("select " + i).getSingleResult();
+            }
+        }
+    }
+}
@@ -26,11 +26,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.List;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -169,6 +173,89 @@ public class TaskApiControllerTest {
                     .andExpect(jsonPath("$").isArray());
         }
 
+        @Test
+        @DisplayName("GET/api/tasks - общее количество в X-Total-Count (аунтефицирован 200)")
+        public void getTasksTotalCount_Authenticated_ShouldRetorn200() throws Exception {
+            mockMvc.perform(get("/api/tasks")
+                            .param("_start", "0")
+                            .param("_end", "1")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(header().string("X-Total-Count", "2"));
+
+            mockMvc.perform(get("/api/tasks")
+                            .param("_start", "1")
+                            .param("_end", "2")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(header().string("X-Total-Count", "2"));
+        }
+
+        @Test
+        @DisplayName("GET/api/tasks?titleCont - поиск подстроки без учета регистра (аунтефицирован 200)")
+        public void getTasksByTitleCont_Authenticated_ShouldMatchSubstring() throws Exception {
+            mockMvc.perform(get("/api/tasks")
+                            .param("titleCont", "AS")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2));
+
+            // Спецсимволы LIKE ищутся как обычные символы
+            mockMvc.perform(get("/api/tasks")
+                            .param("titleCont", "%")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(0));
+        }
+
+        @Test
+        @DisplayName("GET/api/tasks?_cursor - постраничный обход курсором (аунтефицирован 200)")
+        public void getTasksByCursor_Authenticated_ShouldRetorn200() throws Exception {
+            var firstPage = mockMvc.perform(get("/api/tasks")
+                            .param("_start", "0")
+                            .param("_end", "1")
+                            .param("_cursor", "")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].id").value(testTask.getId()))
+                    .andExpect(header().doesNotExist("X-Total-Count"))
+                    .andExpect(header().exists("X-Next-Cursor"))
+                    .andReturn();
+            var nextCursor = firstPage.getResponse().getHeader("X-Next-Cursor");
+
+            mockMvc.perform(get("/api/tasks")
+                            .param("_start", "0")
+                            .param("_end", "1")
+                            .param("_cursor", nextCursor)
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].id").value(anotherTask.getId()))
+                    .andExpect(header().doesNotExist("X-Next-Cursor"));
+        }
+
+        @Test
+        @DisplayName("GET/api/tasks?_cursor - курсор с другой сортировкой (аунтефицирован 400)")
+        public void getTasksByForeignCursor_Authenticated_ShouldRetorn400() throws Exception {
+            var firstPage = mockMvc.perform(get("/api/tasks")
+                            .param("_start", "0")
+                            .param("_end", "1")
+                            .param("_cursor", "")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andReturn();
+            var nextCursor = firstPage.getResponse().getHeader("X-Next-Cursor");
+
+            mockMvc.perform(get("/api/tasks")
+                            .param("_end", "1")
+                            .param("_sort", "createdAt")
+                            .param("_cursor", nextCursor)
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isBadRequest());
+        }
+
         @Test
         @DisplayName("GET/api/tasks/id - успешное получение задачи по ID (аунтефицирован 200)")
         public void getTaskById_Authenticated_ShouldRetorn200() throws Exception {
@@ -290,6 +377,184 @@ public class TaskApiControllerTest {
                             .content(objectMapper.writeValueAsString(taskData)))
                     .andExpect(status().isNotFound());
         }
+
+        @Test
+        @DisplayName("POST/api/tasks - все несуществующие метки в одной ошибке (аунтефицирован 404)")
+        public void postTasksWithNonExistentLabels_Authenticated_ShouldReturn404WithAllIds() throws Exception {
+            var taskData = Map.of(
+                    "title", "Task",
+                    "index", 13,
+                    "content", "Test task for test",
+                    "status", "test_status",
+                    "assignee_id", testUser.getId(),
+                    "taskLabelIds", List.of(testLabel.getId(), 99998, 99999)
+            );
+
+            mockMvc.perform(post("/api/tasks")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(taskData)))
+                    .andExpect(status().isNotFound())
+                    .andExpect(content().string(containsString("99998")))
+                    .andExpect(content().string(containsString("99999")));
+        }
+
+        @Test
+        @DisplayName("POST/api/tasks/batch - пакетное создание с результатом на каждый элемент")
+        public void postTasksBatch_Authenticated_ShouldReturnPerItemResults() throws Exception {
+            var tasksData = List.of(
+                    Map.of("title", "Batch task", "status", "test_status",
+                            "assignee_id", testUser.getId(), "taskLabelIds", List.of(testLabel.getId())),
+                    Map.of("title", "Batch task", "status", "non-existent-status"),
+                    Map.of("title", "", "status", "test_status")
+            );
+            var tasksBefore = taskRepository.count();
+
+            mockMvc.perform(post("/api/tasks/batch")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(tasksData)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(3))
+                    .andExpect(jsonPath("$[0].status").value(201))
+                    .andExpect(jsonPath("$[0].id").isNumber())
+                    .andExpect(jsonPath("$[1].status").value(404))
+                    .andExpect(jsonPath("$[1].error").isString())
+                    .andExpect(jsonPath("$[2].status").value(422));
+
+            assertThat(taskRepository.count()).isEqualTo(tasksBefore + 1);
+        }
+
+        @Test
+        @DisplayName("PATCH/api/tasks/batch - пакетное обновление, несуществующая задача не мешает остальным")
+        public void patchTasksBatch_Authenticated_ShouldReturnPerItemResults() throws Exception {
+            var tasksData = List.of(
+                    Map.of("id", testTask.getId(), "task", Map.of("title", "Batch title", "status", "another_status")),
+                    Map.of("id", 99999999, "task", Map.of("title", "Missing"))
+            );
+
+            mockMvc.perform(patch("/api/tasks/batch")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(tasksData)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].status").value(200))
+                    .andExpect(jsonPath("$[1].status").value(404));
+
+            var updated = taskRepository.findWithRelationsById(testTask.getId()).orElseThrow();
+            assertThat(updated.getName()).isEqualTo("Batch title");
+            assertThat(updated.getTaskStatus().getSlug()).isEqualTo("another_status");
+        }
+
+        @Test
+        @DisplayName("DELETE/api/tasks/batch - пакетное удаление с результатом на каждый id")
+        public void deleteTasksBatch_Authenticated_ShouldReturnPerItemResults() throws Exception {
+            mockMvc.perform(delete("/api/tasks/batch")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(testTask.getId(), 99999999))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].status").value(204))
+                    .andExpect(jsonPath("$[1].status").value(404));
+
+            assertThat(taskRepository.existsById(testTask.getId())).isFalse();
+            assertThat(taskRepository.existsById(anotherTask.getId())).isTrue();
+        }
+
+        @Test
+        @DisplayName("GET/api/tasks/export - неизвестный формат выгрузки (аунтефицирован 400)")
+        public void exportTasksUnknownFormat_Authenticated_ShouldReturn400() throws Exception {
+            mockMvc.perform(get("/api/tasks/export")
+                            .param("format", "xml")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("POST/api/tasks/import - NDJSON: плохие строки попадают в отчет и не мешают остальным")
+        public void importTasksNdjson_Authenticated_ShouldReportBadRecords() throws Exception {
+            var body = String.join("\n",
+                    "{\"title\": \"Imported\", \"status\": \"test_status\"}",
+                    "{not json",
+                    "{\"title\": \"Without status\"}",
+                    "{\"title\": \"Labeled\", \"status\": \"test_status\", \"taskLabelIds\": ["
+                            + testLabel.getId() + "]}");
+            var tasksBefore = taskRepository.count();
+
+            mockMvc.perform(post("/api/tasks/import")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.records").value(4))
+                    .andExpect(jsonPath("$.imported").value(2))
+                    .andExpect(jsonPath("$.failed").value(2))
+                    .andExpect(jsonPath("$.errors[0].record").value(2))
+                    .andExpect(jsonPath("$.errors[1].record").value(3));
+
+            assertThat(taskRepository.count()).isEqualTo(tasksBefore + 2);
+        }
+
+        @Test
+        @DisplayName("POST/api/tasks/import - CSV в формате выгрузки")
+        public void importTasksCsv_Authenticated_ShouldImportExportFormat() throws Exception {
+            var body = String.join("\n",
+                    "id,index,assignee_id,title,content,createdAt,status,taskLabelIds",
+                    ",1," + testUser.getId() + ",\"Fix \"\"quotes\"\", commas\",,,test_status," + testLabel.getId(),
+                    ",2,,Plain,\"multi\nline\",,another_status,",
+                    "");
+
+            mockMvc.perform(post("/api/tasks/import")
+                            .param("format", "csv")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType("text/csv")
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.records").value(2))
+                    .andExpect(jsonPath("$.imported").value(2))
+                    .andExpect(jsonPath("$.failed").value(0));
+
+            var imported = taskRepository.findAll().stream()
+                    .filter(task -> task.getName().equals("Fix \"quotes\", commas"))
+                    .findFirst()
+                    .orElseThrow();
+            assertThat(imported.getAssignee().getId()).isEqualTo(testUser.getId());
+        }
+
+        @Test
+        @DisplayName("POST/api/tasks/import - CSV: слишком длинная запись попадает в отчет, следующие читаются")
+        public void importTasksCsv_TooLongRecord_ShouldBeReported() throws Exception {
+            var body = String.join("\n",
+                    "title,status",
+                    "First,test_status",
+                    "\"" + "x".repeat(1_000_001) + "\",test_status",
+                    "Last,test_status");
+
+            mockMvc.perform(post("/api/tasks/import")
+                            .param("format", "csv")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType("text/csv")
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.records").value(3))
+                    .andExpect(jsonPath("$.imported").value(2))
+                    .andExpect(jsonPath("$.errors[0].record").value(3));
+        }
+
+        @Test
+        @DisplayName("POST/api/tasks/import - NDJSON без переводов строк читается объект за объектом")
+        public void importTasksNdjson_WithoutNewlines_ShouldImportAll() throws Exception {
+            var body = "{\"title\": \"One\", \"status\": \"test_status\"}"
+                    + "{\"title\": \"Two\", \"status\": \"test_status\"}";
+
+            mockMvc.perform(post("/api/tasks/import")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.records").value(2))
+                    .andExpect(jsonPath("$.imported").value(2));
+        }
     }
 
     // ===== Тесты c незалогиненным пользователем (без токена) =====
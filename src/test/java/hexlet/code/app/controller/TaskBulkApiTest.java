@@ -0,0 +1,213 @@
+package hexlet.code.app.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.app.model.label.Label;
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.model.user.User;
+import hexlet.code.app.repository.LabelRepository;
+import hexlet.code.app.repository.TaskRepository;
+import hexlet.code.app.repository.TaskStatusRepository;
+import hexlet.code.app.repository.UserRepository;
+import hexlet.code.app.util.JWTUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Маленький чанк, чтобы операции проходили несколько транзакций
+@SpringBootTest(properties = "app.batch.bulk-chunk-size=2")
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles({"dev", "test"})
+public class TaskBulkApiTest {
+    private static final int TASKS_COUNT = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    private String userToken;
+    private User testUser;
+    private User anotherUser;
+    private Label bulkLabel;
+    private Label otherLabel;
+
+    @BeforeEach
+    public void setUp() {
+        testUser = userRepository.save(User.builder()
+                .email("bulk@example.com")
+                .passwordDigest("digest")
+                .firstName("Bulk")
+                .lastName("User")
+                .build());
+        anotherUser = userRepository.save(User.builder()
+                .email("bulk-other@example.com")
+                .passwordDigest("digest")
+                .firstName("Other")
+                .lastName("User")
+                .build());
+        userToken = jwtUtils.generateToken(testUser);
+
+        var todo = taskStatusRepository.save(TaskStatus.builder().name("Bulk todo").slug("bulk_todo").build());
+        taskStatusRepository.save(TaskStatus.builder().name("Bulk done").slug("bulk_done").build());
+        bulkLabel = labelRepository.save(Label.builder().name("bulk-label").build());
+        otherLabel = labelRepository.save(Label.builder().name("bulk-other-label").build());
+
+        for (int i = 0; i < TASKS_COUNT; i++) {
+            var task = Task.builder().name("Bulk " + i).taskStatus(todo).assignee(testUser).build();
+            task.addLabel(bulkLabel);
+            taskRepository.save(task);
+        }
+        // Лишняя задача вне фильтра
+        taskRepository.save(Task.builder().name("Outside").taskStatus(todo).assignee(testUser).build());
+
+        // Операции идут через JdbcTemplate, данные сессии должны быть в базе
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Перенос по фильтру меняет статус всех задач под ним чанками и правит счетчики")
+    public void move_ShouldUpdateAllMatchedTasks() throws Exception {
+        bulk(Map.of("action", "move", "status", "bulk_done", "filter", Map.of("labelId", bulkLabel.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(TASKS_COUNT))
+                .andExpect(jsonPath("$.affected").value(TASKS_COUNT))
+                .andExpect(jsonPath("$.chunks").value(3));
+
+        mockMvc.perform(get("/api/tasks/stats")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(jsonPath("$.byStatus[?(@.slug == 'bulk_todo')].count", contains(1)))
+                .andExpect(jsonPath("$.byStatus[?(@.slug == 'bulk_done')].count", contains(TASKS_COUNT)));
+
+        // Повтор ничего не меняет: задачи уже в целевом статусе
+        bulk(Map.of("action", "move", "status", "bulk_done", "filter", Map.of("labelId", bulkLabel.getId())))
+                .andExpect(jsonPath("$.affected").value(0));
+    }
+
+    @Test
+    @DisplayName("Переназначение и снятие исполнителя по фильтру")
+    public void reassign_ShouldChangeAssignee() throws Exception {
+        bulk(Map.of("action", "reassign", "assigneeId", anotherUser.getId(),
+                "filter", Map.of("labelId", bulkLabel.getId())))
+                .andExpect(jsonPath("$.affected").value(TASKS_COUNT));
+        assertThat(countTasks("assignee_id = " + anotherUser.getId())).isEqualTo(TASKS_COUNT);
+
+        var unassign = new HashMap<String, Object>();
+        unassign.put("action", "reassign");
+        unassign.put("assigneeId", null);
+        unassign.put("filter", Map.of("assigneeId", anotherUser.getId()));
+        bulk(unassign).andExpect(jsonPath("$.affected").value(TASKS_COUNT));
+        assertThat(countTasks("assignee_id = " + anotherUser.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Метка добавляется и снимается множественной вставкой и удалением")
+    public void labels_ShouldBeAddedAndRemoved() throws Exception {
+        bulk(Map.of("action", "add_label", "labelId", otherLabel.getId(),
+                "filter", Map.of("titleCont", "bulk ")))
+                .andExpect(jsonPath("$.affected").value(TASKS_COUNT));
+        assertThat(countLinks(otherLabel.getId())).isEqualTo(TASKS_COUNT);
+
+        bulk(Map.of("action", "remove_label", "labelId", bulkLabel.getId(),
+                "filter", Map.of("labelId", bulkLabel.getId())))
+                .andExpect(jsonPath("$.affected").value(TASKS_COUNT));
+        assertThat(countLinks(bulkLabel.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Удаление по фильтру удаляет задачи вместе со связями")
+    public void delete_ShouldRemoveMatchedTasks() throws Exception {
+        bulk(Map.of("action", "delete", "filter", Map.of("labelId", bulkLabel.getId())))
+                .andExpect(jsonPath("$.matched").value(TASKS_COUNT))
+                .andExpect(jsonPath("$.affected").value(TASKS_COUNT));
+
+        assertThat(countTasks("assignee_id = " + testUser.getId())).isEqualTo(1);
+        assertThat(countLinks(bulkLabel.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Фильтр status - шаблон по слагу, как в списке задач")
+    public void statusFilter_ShouldMatchListing() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", "bulk_t%")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(TASKS_COUNT + 1)));
+
+        bulk(Map.of("action", "move", "status", "bulk_done", "filter", Map.of("status", "bulk_t%")))
+                .andExpect(jsonPath("$.matched").value(TASKS_COUNT + 1))
+                .andExpect(jsonPath("$.affected").value(TASKS_COUNT + 1));
+    }
+
+    @Test
+    @DisplayName("Пустой фильтр и неизвестная операция - 400, неизвестный статус - 404")
+    public void invalidRequests_ShouldBeRejected() throws Exception {
+        bulk(Map.of("action", "delete", "filter", Map.of()))
+                .andExpect(status().isBadRequest());
+        bulk(Map.of("action", "archive", "filter", Map.of("labelId", bulkLabel.getId())))
+                .andExpect(status().isBadRequest());
+        bulk(Map.of("action", "move", "status", "missing", "filter", Map.of("labelId", bulkLabel.getId())))
+                .andExpect(status().isNotFound());
+        assertThat(countLinks(bulkLabel.getId())).isEqualTo(TASKS_COUNT);
+    }
+
+    private ResultActions bulk(Map<String, ?> body) throws Exception {
+        return mockMvc.perform(post("/api/tasks/bulk")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)));
+    }
+
+    private long countTasks(String condition) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM tasks WHERE " + condition, Long.class);
+    }
+
+    private long countLinks(Long labelId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM task_labels WHERE label_id = ?", Long.class, labelId);
+    }
+}
@@ -0,0 +1,164 @@
+package hexlet.code.app.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.app.config.TaskCountersEndpoint;
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.model.user.User;
+import hexlet.code.app.repository.TaskRepository;
+import hexlet.code.app.repository.TaskStatusRepository;
+import hexlet.code.app.repository.UserRepository;
+import hexlet.code.app.util.JWTUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles({"dev", "test"})
+public class TaskStatsTest {
+    private static final String TODO = "$.byStatus[?(@.slug == 'stats_todo')].count";
+    private static final String DONE = "$.byStatus[?(@.slug == 'stats_done')].count";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskCountersEndpoint taskCountersEndpoint;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    private String userToken;
+    private User testUser;
+    private TaskStatus todo;
+
+    @BeforeEach
+    public void setUp() {
+        testUser = userRepository.save(User.builder()
+                .email("stats@example.com")
+                .passwordDigest("digest")
+                .firstName("Stats")
+                .lastName("User")
+                .build());
+        userToken = jwtUtils.generateToken(testUser);
+
+        todo = taskStatusRepository.save(TaskStatus.builder().name("Stats todo").slug("stats_todo").build());
+        taskStatusRepository.save(TaskStatus.builder().name("Stats done").slug("stats_done").build());
+    }
+
+    @Test
+    @DisplayName("Создание, перенос и удаление задач меняют счетчики")
+    public void taskChanges_ShouldUpdateCounters() throws Exception {
+        var first = createTask("First", "stats_todo");
+        createTask("Second", "stats_todo");
+
+        stats()
+                .andExpect(jsonPath(TODO, contains(2)))
+                .andExpect(jsonPath(DONE, contains(0)))
+                .andExpect(jsonPath("$.byAssignee[?(@.email == 'stats@example.com')].count", contains(2)));
+
+        mockMvc.perform(patch("/api/tasks/{id}", first)
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("status", "stats_done"))))
+                .andExpect(status().isOk());
+
+        stats()
+                .andExpect(jsonPath(TODO, contains(1)))
+                .andExpect(jsonPath(DONE, contains(1)));
+
+        mockMvc.perform(delete("/api/tasks/{id}", first)
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isNoContent());
+
+        stats()
+                .andExpect(jsonPath(DONE, contains(0)))
+                .andExpect(jsonPath("$.byAssignee[?(@.email == 'stats@example.com')].count", contains(1)));
+    }
+
+    @Test
+    @DisplayName("Статус с задачами удалить нельзя (409)")
+    public void deleteStatusWithTasks_ShouldReturn409() throws Exception {
+        createTask("Blocking", "stats_todo");
+
+        mockMvc.perform(delete("/api/task_statuses/{id}", todo.getId())
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    @DisplayName("Пересчет исправляет расхождение после запроса мимо JPA")
+    public void rebuild_ShouldFixDrift() throws Exception {
+        taskRepository.save(Task.builder().name("Drift").taskStatus(todo).assignee(testUser).build());
+        entityManager.flush();
+        // Массовый запрос слушатель не видит: задача уходит из исполнителей, счетчик остается
+        jdbcTemplate.update("UPDATE tasks SET assignee_id = NULL WHERE assignee_id = ?", testUser.getId());
+
+        stats().andExpect(jsonPath("$.byAssignee[?(@.email == 'stats@example.com')].count", contains(1)));
+
+        taskCountersEndpoint.rebuild();
+
+        stats()
+                .andExpect(jsonPath(TODO, contains(1)))
+                .andExpect(jsonPath("$.byAssignee[?(@.email == 'stats@example.com')]", empty()));
+    }
+
+    private Long createTask(String title, String status) throws Exception {
+        var body = Map.of("title", title, "status", status, "assignee_id", testUser.getId());
+        var response = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private ResultActions stats() throws Exception {
+        return mockMvc.perform(get("/api/tasks/stats")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+    }
+}
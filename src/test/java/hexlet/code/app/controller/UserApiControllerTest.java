@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import hexlet.code.app.model.task.Task;
 import hexlet.code.app.model.taskStatus.TaskStatus;
 import hexlet.code.app.model.user.User;
+import hexlet.code.app.repository.TaskRepository;
+import hexlet.code.app.repository.TaskStatusRepository;
 import hexlet.code.app.repository.UserRepository;
 import hexlet.code.app.util.JWTUtils;
 import jakarta.transaction.Transactional;
@@ -28,6 +30,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -45,6 +48,12 @@ public class UserApiControllerTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -170,6 +179,29 @@ public class UserApiControllerTest {
                     .andExpect(jsonPath("$[1].email").value(anotherUser.getEmail()));
         }
 
+        @Test
+        @DisplayName("GET /api/users?_cursor - обход курсором по email (аутентифицирован)")
+        void getUsersByCursor_Authenticated_ShouldReturn200() throws Exception {
+            var firstPage = mockMvc.perform(get("/api/users")
+                            .param("_end", "1")
+                            .param("_sort", "email")
+                            .param("_cursor", "")
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].email").value(anotherUser.getEmail()))
+                    .andExpect(header().exists("X-Next-Cursor"))
+                    .andReturn();
+
+            mockMvc.perform(get("/api/users")
+                            .param("_end", "1")
+                            .param("_sort", "email")
+                            .param("_cursor", firstPage.getResponse().getHeader("X-Next-Cursor"))
+                            .header("Authorization", "Bearer " + userToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].email").value(testUser.getEmail()))
+                    .andExpect(header().doesNotExist("X-Next-Cursor"));
+        }
+
         @Test
         @DisplayName("GET /api/users - без токена (401 Unauthorized)")
         @WithAnonymousUser
@@ -260,8 +292,10 @@ public class UserApiControllerTest {
         @Test
         @DisplayName("DELETE /api/users/{id} - удаление своего профиля c задачей (conflict 409)")
         void deleteUser_OwnProfile_ShouldReturn409() throws Exception {
-            // Добавляем задачу юзеру
+            // Добавляем задачу юзеру: DELETE проверяет задачи в базе, поэтому задача сохраняется
             testTask.addAssignee(testUser);
+            taskStatusRepository.save(testStatus);
+            taskRepository.save(testTask);
 
             mockMvc.perform(delete("/api/users/{id}", testUser.getId())
                             .header("Authorization", "Bearer " + userToken))
@@ -0,0 +1,117 @@
+package hexlet.code.app.repository;
+
+import hexlet.code.app.config.HibernateCacheConfig;
+import hexlet.code.app.dto.labelDTO.LabelUpdateDTO;
+import hexlet.code.app.dto.taskStatusDTO.TaskStatusPartiallyUpdateDTO;
+import hexlet.code.app.model.label.Label;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.service.LabelService;
+import hexlet.code.app.service.TaskStatusService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Без @Transactional: в кэш второго уровня попадают только закоммиченные данные
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+public class ReferenceEntityCacheTest {
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private TaskStatusService taskStatusService;
+
+    @Autowired
+    private LabelService labelService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private TaskStatus status;
+    private Label label;
+
+    @BeforeEach
+    public void setUp() {
+        status = taskStatusRepository.save(TaskStatus.builder().name("L2").slug("l2_status").build());
+        label = labelRepository.save(Label.builder().name("l2-label").build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskStatusRepository.findById(status.getId()).ifPresent(taskStatusRepository::delete);
+        labelRepository.findById(label.getId()).ifPresent(labelRepository::delete);
+    }
+
+    @Test
+    @DisplayName("Статус по слагу читается из кэша запросов и перечитывается после изменения через сервис")
+    public void findBySlug_ShouldBeCachedAndInvalidatedOnUpdate() {
+        assertThat(taskStatusRepository.findBySlug("l2_status")).isPresent();
+        assertThat(taskStatusRepository.findBySlug("l2_status")).isPresent();
+
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        taskStatusService.partialUpdate(status.getId(),
+                new TaskStatusPartiallyUpdateDTO(JsonNullable.of("Renamed"), JsonNullable.undefined()));
+
+        assertThat(taskStatusRepository.findBySlug("l2_status"))
+                .hasValueSatisfying(found -> assertThat(found.getName()).isEqualTo("Renamed"));
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Метка по id и по имени берется из кэша и не устаревает после переименования")
+    public void label_ShouldBeCachedAndInvalidatedOnUpdate() {
+        assertThat(labelRepository.findById(label.getId())).isPresent();
+        assertThat(labelRepository.findByName("l2-label")).isPresent();
+        assertThat(labelRepository.findByName("l2-label")).isPresent();
+
+        var region = statistics.getDomainDataRegionStatistics(HibernateCacheConfig.LABELS_REGION);
+        assertThat(region.getHitCount()).isPositive();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        labelService.update(label.getId(), new LabelUpdateDTO("l2-label-renamed"));
+
+        assertThat(labelRepository.findByName("l2-label")).isEmpty();
+        assertThat(labelRepository.findByName("l2-label-renamed")).isPresent();
+        assertThat(labelRepository.findById(label.getId()))
+                .hasValueSatisfying(found -> assertThat(found.getName()).isEqualTo("l2-label-renamed"));
+    }
+
+    @Test
+    @DisplayName("Доля попаданий публикуется по каждому региону")
+    public void metrics_ShouldExposeHitRatioPerRegion() {
+        taskStatusRepository.findById(status.getId());
+        taskStatusRepository.findById(status.getId());
+
+        for (var region : HibernateCacheConfig.DATA_REGIONS) {
+            assertThat(meterRegistry.get("hibernate.cache.hit.ratio").tag("region", region).gauge()).isNotNull();
+        }
+        var ratio = meterRegistry.get("hibernate.cache.hit.ratio")
+                .tag("region", HibernateCacheConfig.TASK_STATUSES_REGION)
+                .gauge()
+                .value();
+        assertThat(ratio).isPositive();
+    }
+}
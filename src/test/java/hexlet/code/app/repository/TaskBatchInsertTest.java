@@ -0,0 +1,90 @@
+package hexlet.code.app.repository;
+
+import hexlet.code.app.model.BaseEntity;
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles({"dev", "test"})
+@Transactional
+public class TaskBatchInsertTest {
+
+    private static final int TASKS_COUNT = 1000;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private TaskStatus status;
+
+    @BeforeEach
+    public void setUp() {
+        status = taskStatusRepository.save(TaskStatus.builder().name("Batch").slug("batch_status").build());
+        entityManager.flush();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Вставка задач уходит JDBC-батчами, id берутся блоками из последовательности")
+    public void saveAll_ShouldUseJdbcBatches() {
+        var batched = insertTasks(null, "batched");
+        var single = insertTasks(1, "single");
+
+        // На блок из ID_ALLOCATION_SIZE задач - один nextval и один батч вставки
+        var expectedBatches = TASKS_COUNT / BaseEntity.ID_ALLOCATION_SIZE;
+        assertThat(batched.statements()).isLessThanOrEqualTo(2L * expectedBatches + 2);
+        assertThat(single.statements()).isGreaterThanOrEqualTo(TASKS_COUNT);
+        log.info("Вставка {} задач: с батчами {} строк/с ({} запросов), без батчей {} строк/с ({} запросов)",
+                TASKS_COUNT, batched.rowsPerSecond(), batched.statements(),
+                single.rowsPerSecond(), single.statements());
+    }
+
+    // batchSize == null - размер батча из настроек
+    private InsertResult insertTasks(Integer batchSize, String prefix) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        var tasks = new ArrayList<Task>();
+        for (int i = 0; i < TASKS_COUNT; i++) {
+            tasks.add(Task.builder().name(prefix + " " + i).index(i + 1).taskStatus(status).build());
+        }
+
+        statistics.clear();
+        var start = System.nanoTime();
+        taskRepository.saveAll(tasks);
+        entityManager.flush();
+        var elapsed = System.nanoTime() - start;
+        var statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        assertThat(tasks).allSatisfy(task -> assertThat(task.getId()).isNotNull());
+        return new InsertResult(statements, TASKS_COUNT * 1_000_000_000L / Math.max(elapsed, 1));
+    }
+
+    private record InsertResult(long statements, long rowsPerSecond) { }
+}
@@ -0,0 +1,276 @@
+package hexlet.code.app.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.app.dto.taskDTO.TaskParamsDTO;
+import hexlet.code.app.service.TaskService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Планы запросов списка и поиска задач на настоящем PostgreSQL: схема из миграций, данные - десятки тысяч строк.
+// Проверяются не написанные вручную запросы, а те, что приложение выполнило: SQL и значения параметров
+// перехватываются на уровне JDBC и повторяются под EXPLAIN. Без Docker тест пропускается
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+    "rsa.private-key=classpath:/certs-dev/private-key.pem",
+    "rsa.public-key=classpath:/certs-dev/public-key.pem"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TaskIndexUsagePostgresTest {
+
+    private static final Set<String> CHECKED_TABLES = Set.of("tasks", "task_labels");
+    private static final Pattern CHECKED_SQL = Pattern.compile("\\b(tasks|task_labels)\\b");
+    // id тестовых строк не пересекаются с блоками последовательностей, которые берет DataInitializer
+    private static final long ID_OFFSET = 1_000_000L;
+    private static final int PAGE_SIZE = 10;
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:13-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @BeforeAll
+    public void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO task_statuses (id, name, slug, created_at)
+                SELECT ? + g, 'Status ' || g, 'status_' || g, now()
+                FROM generate_series(1, 50) g""", ID_OFFSET);
+        jdbcTemplate.update("""
+                INSERT INTO users (id, first_name, last_name, email, password_digest, created_at)
+                SELECT ? + g, 'First' || g, 'Last' || g, 'user' || g || '@example.com', 'digest',
+                       now() - g * interval '1 minute'
+                FROM generate_series(1, 1000) g""", ID_OFFSET);
+        jdbcTemplate.update("""
+                INSERT INTO labels (id, name, created_at)
+                SELECT ? + g, 'label_' || g, now()
+                FROM generate_series(1, 100) g""", ID_OFFSET);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (id, name, index, description, task_status_id, assignee_id, created_at)
+                SELECT ? + g, md5(g::text), g, md5((g * 7)::text), ? + 1 + g % 50, ? + 1 + g % 1000,
+                       now() - g * interval '1 second'
+                FROM generate_series(1, 50000) g""", ID_OFFSET, ID_OFFSET, ID_OFFSET);
+        jdbcTemplate.update("""
+                INSERT INTO task_labels (task_id, label_id)
+                SELECT ? + g, ? + 1 + g % 100
+                FROM generate_series(1, 50000) g""", ID_OFFSET, ID_OFFSET);
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+
+    @Test
+    @DisplayName("Миграции применены, схема совпадает с сущностями")
+    public void migrations_ShouldBeApplied() {
+        var failed = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM flyway_schema_history WHERE NOT success", Long.class);
+        var indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename IN ('tasks', 'task_labels')", String.class);
+
+        assertThat(failed).isZero();
+        assertThat(indexes).contains("idx_tasks_status_id", "idx_tasks_assignee_id",
+                "idx_task_labels_label_task", "idx_tasks_name_trgm");
+    }
+
+    @Test
+    @DisplayName("Фильтр по статусу читает индекс")
+    public void filterByStatus_ShouldUseIndex() throws Exception {
+        assertIndexScans(captureList(new TaskParamsDTO(null, null, "status_7", null), Sort.by("id")));
+    }
+
+    @Test
+    @DisplayName("Фильтр по исполнителю с сортировкой по дате читает индекс")
+    public void filterByAssignee_ShouldUseIndex() throws Exception {
+        assertIndexScans(captureList(new TaskParamsDTO(null, ID_OFFSET + 42, null, null),
+                Sort.by(Sort.Direction.DESC, "createdAt", "id")));
+    }
+
+    @Test
+    @DisplayName("Фильтр по метке идет через индекс task_labels")
+    public void filterByLabel_ShouldUseIndex() throws Exception {
+        assertIndexScans(captureList(new TaskParamsDTO(null, null, null, ID_OFFSET + 3), Sort.by("id")));
+    }
+
+    @Test
+    @DisplayName("Фильтр titleCont идет через триграммный индекс")
+    public void titleContains_ShouldUseTrigramIndex() throws Exception {
+        var params = new TaskParamsDTO(titleFragment(), null, null, null);
+        var plans = assertIndexScans(captureList(params, Sort.by("id")));
+
+        assertThat(plans).anyMatch(node -> "idx_tasks_name_trgm".equals(node.path("Index Name").asText()));
+    }
+
+    @Test
+    @DisplayName("Ранжированный поиск идет через триграммные индексы")
+    public void search_ShouldUseTrigramIndex() throws Exception {
+        var query = titleFragment();
+        var plans = assertIndexScans(StatementCapture.capture(() -> taskService.search(query, PAGE_SIZE)));
+
+        assertThat(plans).anyMatch(node -> node.path("Index Name").asText().endsWith("_trgm"));
+    }
+
+    private List<CapturedQuery> captureList(TaskParamsDTO params, Sort sort) {
+        return StatementCapture.capture(() -> taskService.findAll(PageRequest.of(0, PAGE_SIZE, sort), params));
+    }
+
+    // Подстрока названия одной из задач
+    private String titleFragment() {
+        return jdbcTemplate.queryForObject("SELECT substr(md5('4242'), 5, 10)", String.class);
+    }
+
+    // Каждый запрос к задачам и меткам: ни одного полного чтения проверяемых таблиц и хотя бы одно чтение индекса.
+    // Возвращает узлы всех планов
+    private List<JsonNode> assertIndexScans(List<CapturedQuery> queries) throws Exception {
+        var checked = queries.stream().filter(query -> CHECKED_SQL.matcher(query.sql()).find()).toList();
+        assertThat(checked).as("captured: %s", queries).isNotEmpty();
+
+        var all = new ArrayList<JsonNode>();
+        for (var query : checked) {
+            var json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + query.sql(), String.class,
+                    query.params().toArray());
+            var nodes = new ArrayList<JsonNode>();
+            collect(objectMapper.readTree(json).get(0).get("Plan"), nodes);
+
+            assertThat(nodes)
+                    .as("query: %s%nplan: %s", query, json)
+                    .noneMatch(node -> "Seq Scan".equals(node.path("Node Type").asText())
+                            && CHECKED_TABLES.contains(node.path("Relation Name").asText()))
+                    .anyMatch(node -> node.path("Node Type").asText().contains("Index"));
+            all.addAll(nodes);
+        }
+        return all;
+    }
+
+    private void collect(JsonNode node, List<JsonNode> nodes) {
+        nodes.add(node);
+        for (var child : node.path("Plans")) {
+            collect(child, nodes);
+        }
+    }
+
+    private record CapturedQuery(String sql, List<Object> params) { }
+
+    // Пропускает все соединения пула через StatementCapture
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        static BeanPostProcessor statementCapturePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                    return bean instanceof DataSource dataSource ? new StatementCapture(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    // Запоминает выполненные в текущем потоке SELECT вместе со значениями параметров
+    private static final class StatementCapture extends DelegatingDataSource {
+        private static final ThreadLocal<List<CapturedQuery>> CURRENT = new ThreadLocal<>();
+
+        StatementCapture(DataSource target) {
+            super(target);
+        }
+
+        static List<CapturedQuery> capture(Runnable action) {
+            var queries = new ArrayList<CapturedQuery>();
+            CURRENT.set(queries);
+            try {
+                action.run();
+            } finally {
+                CURRENT.remove();
+            }
+            return queries;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrapConnection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrapConnection(super.getConnection(username, password));
+        }
+
+        private static Connection wrapConnection(Connection connection) {
+            return proxy(Connection.class, (method, args) -> {
+                var result = invoke(connection, method, args);
+                if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                    return wrapStatement(statement, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement wrapStatement(PreparedStatement statement, String sql) {
+            var params = new TreeMap<Integer, Object>();
+            return proxy(PreparedStatement.class, (method, args) -> {
+                var name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    params.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    params.clear();
+                } else if (name.equals("executeQuery") && CURRENT.get() != null) {
+                    CURRENT.get().add(new CapturedQuery(sql, new ArrayList<>(params.values())));
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private static <T> T proxy(Class<T> type, Handler handler) {
+            InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(method, args);
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, invocationHandler));
+        }
+
+        @FunctionalInterface
+        private interface Handler {
+            Object handle(Method method, Object[] args) throws Throwable;
+        }
+    }
+}
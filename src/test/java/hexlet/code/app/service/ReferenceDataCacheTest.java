@@ -0,0 +1,91 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.dto.labelDTO.LabelUpdateDTO;
+import hexlet.code.app.dto.taskStatusDTO.TaskStatusPartiallyUpdateDTO;
+import hexlet.code.app.model.label.Label;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.repository.LabelRepository;
+import hexlet.code.app.repository.TaskStatusRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openapitools.jackson.nullable.JsonNullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Без @Transactional: в кэш попадают только закоммиченные данные
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+public class ReferenceDataCacheTest {
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TaskStatusService taskStatusService;
+
+    @Autowired
+    private LabelService labelService;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    private TaskStatus status;
+    private Label label;
+
+    @BeforeEach
+    public void setUp() {
+        status = taskStatusRepository.save(TaskStatus.builder().name("Cached").slug("cached_status").build());
+        label = labelRepository.save(Label.builder().name("cached-label").build());
+        cacheManager.getCache(ReferenceDataCache.TASK_STATUSES).clear();
+        cacheManager.getCache(ReferenceDataCache.LABEL_IDS).clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskStatusRepository.deleteById(status.getId());
+        labelRepository.findById(label.getId()).ifPresent(labelRepository::delete);
+    }
+
+    @Test
+    @DisplayName("Статус по слагу кэшируется и сбрасывается при изменении через сервис")
+    public void statusBySlug_ShouldBeCachedAndEvictedOnUpdate() {
+        var statuses = cacheManager.getCache(ReferenceDataCache.TASK_STATUSES);
+
+        assertThat(referenceDataCache.findStatusBySlug("cached_status")).isPresent();
+        assertThat(statuses.get("cached_status")).isNotNull();
+
+        taskStatusService.partialUpdate(status.getId(),
+                new TaskStatusPartiallyUpdateDTO(JsonNullable.of("Renamed"), JsonNullable.undefined()));
+
+        assertThat(statuses.get("cached_status")).isNull();
+        assertThat(referenceDataCache.findStatusBySlug("cached_status"))
+                .hasValueSatisfying(cached -> assertThat(cached.getName()).isEqualTo("Renamed"));
+    }
+
+    @Test
+    @DisplayName("Существование метки кэшируется и сбрасывается при удалении через сервис")
+    public void labelExists_ShouldBeCachedAndEvictedOnDelete() {
+        var labels = cacheManager.getCache(ReferenceDataCache.LABEL_IDS);
+
+        assertThat(referenceDataCache.labelExists(label.getId())).isTrue();
+        assertThat(labels.get(label.getId())).isNotNull();
+
+        labelService.update(label.getId(), new LabelUpdateDTO("cached-label-renamed"));
+        assertThat(labels.get(label.getId())).isNull();
+
+        labelService.delete(label.getId());
+        assertThat(referenceDataCache.labelExists(label.getId())).isFalse();
+    }
+}
@@ -0,0 +1,112 @@
+package hexlet.code.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.app.dto.taskDTO.TaskDTO;
+import hexlet.code.app.dto.taskDTO.TaskParamsDTO;
+import hexlet.code.app.model.label.Label;
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.repository.LabelRepository;
+import hexlet.code.app.repository.TaskRepository;
+import hexlet.code.app.repository.TaskStatusRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+@Transactional
+public class TaskExportServiceTest {
+
+    // Больше одной порции догрузки меток
+    private static final int TASKS_COUNT = 1200;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Label label;
+
+    @BeforeEach
+    public void setUp() {
+        taskRepository.deleteAll();
+        var draft = taskStatusRepository.save(TaskStatus.builder().name("Export").slug("export_draft").build());
+        var done = taskStatusRepository.save(TaskStatus.builder().name("Done").slug("export_done").build());
+        label = labelRepository.save(Label.builder().name("export-label").build());
+
+        var tasks = new ArrayList<Task>();
+        for (int i = 0; i < TASKS_COUNT; i++) {
+            var task = Task.builder()
+                    .name("Task " + i)
+                    .index(i + 1)
+                    .taskStatus(i % 2 == 0 ? draft : done)
+                    .build();
+            if (i % 3 == 0) {
+                task.addLabel(label);
+            }
+            tasks.add(task);
+        }
+        tasks.get(0).setName("Fix \"quotes\", commas");
+        taskRepository.saveAll(tasks);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("NDJSON: по строке на задачу в формате /api/tasks, с метками")
+    public void exportNdjson_ShouldWriteOneLinePerTask() throws Exception {
+        var lines = export(new TaskParamsDTO(null, null, null, null), TaskFileFormat.NDJSON);
+
+        assertThat(lines).hasSize(TASKS_COUNT);
+        var first = objectMapper.readValue(lines.get(0), TaskDTO.class);
+        assertThat(first.title()).isEqualTo("Fix \"quotes\", commas");
+        assertThat(first.status()).isEqualTo("export_draft");
+        assertThat(first.taskLabelIds()).containsExactly(label.getId());
+        var labeled = lines.stream().filter(line -> line.contains("\"taskLabelIds\":[" + label.getId() + "]"));
+        assertThat(labeled.count()).isEqualTo(TASKS_COUNT / 3);
+    }
+
+    @Test
+    @DisplayName("CSV: заголовок, экранирование и фильтры списка задач")
+    public void exportCsv_ShouldHonourFilters() throws Exception {
+        var lines = export(new TaskParamsDTO(null, null, "export_draft", label.getId()), TaskFileFormat.CSV);
+
+        assertThat(lines.get(0)).isEqualTo("id,index,assignee_id,title,content,createdAt,status,taskLabelIds");
+        // Задачи с четным номером и номером, кратным трем
+        assertThat(lines).hasSize(1 + TASKS_COUNT / 6);
+        assertThat(lines.get(1)).contains(",\"Fix \"\"quotes\"\", commas\",");
+        assertThat(lines.subList(1, lines.size())).allSatisfy(line -> assertThat(line).contains(",export_draft,"));
+    }
+
+    private List<String> export(TaskParamsDTO params, TaskFileFormat format) throws Exception {
+        var out = new ByteArrayOutputStream();
+        taskExportService.export(params, format, out);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+}
@@ -0,0 +1,80 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.repository.TaskRepository;
+import hexlet.code.app.repository.TaskStatusRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Без @Transactional: индекс в памяти обновляется только после коммита
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+public class TaskSearchServiceTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    private TaskStatus status;
+    private Task titleMatch;
+    private Task descriptionMatch;
+    private Task prefixMatch;
+
+    @BeforeEach
+    public void setUp() {
+        status = taskStatusRepository.save(TaskStatus.builder().name("Search").slug("search_status").build());
+        titleMatch = save("Quarterly report", "Collect the numbers");
+        descriptionMatch = save("Finance", "Send the quarterly report to the board");
+        prefixMatch = save("Reporting pipeline", "Nightly job");
+        save("Unrelated", "Nothing to see here");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskRepository.findAll().stream()
+                .filter(task -> task.getTaskStatus().getId().equals(status.getId()))
+                .forEach(taskRepository::delete);
+        taskStatusRepository.deleteById(status.getId());
+    }
+
+    @Test
+    @DisplayName("Совпадение в названии выше совпадения в описании, префикс слова тоже находится")
+    public void search_ShouldRankByRelevance() {
+        var results = taskService.search("report", 10);
+
+        assertThat(results).extracting(task -> task.id())
+                .containsExactly(titleMatch.getId(), descriptionMatch.getId(), prefixMatch.getId());
+        assertThat(taskService.search("quarterly REPORT", 10)).extracting(task -> task.id())
+                .containsExactly(titleMatch.getId(), descriptionMatch.getId());
+    }
+
+    @Test
+    @DisplayName("Индекс следует за изменением и удалением задач")
+    public void search_ShouldFollowUpdatesAndDeletes() {
+        titleMatch.setName("Annual summary");
+        taskRepository.save(titleMatch);
+        taskRepository.delete(descriptionMatch);
+
+        assertThat(taskService.search("report", 10)).extracting(task -> task.id())
+                .containsExactly(prefixMatch.getId());
+        assertThat(taskService.search("annual", 10)).extracting(task -> task.id())
+                .containsExactly(titleMatch.getId());
+    }
+
+    private Task save(String name, String description) {
+        return taskRepository.save(Task.builder().name(name).description(description).taskStatus(status).build());
+    }
+}
@@ -0,0 +1,204 @@
+package hexlet.code.app.service;
+
+import hexlet.code.app.dto.taskDTO.TaskCreateDTO;
+import hexlet.code.app.dto.taskDTO.TaskParamsDTO;
+import hexlet.code.app.exception.ConflictException;
+import hexlet.code.app.model.label.Label;
+import hexlet.code.app.model.task.Task;
+import hexlet.code.app.model.taskStatus.TaskStatus;
+import hexlet.code.app.model.user.User;
+import hexlet.code.app.repository.LabelRepository;
+import hexlet.code.app.repository.TaskRepository;
+import hexlet.code.app.repository.TaskStatusRepository;
+import hexlet.code.app.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles({"dev", "test"})
+@Transactional
+public class TaskServiceQueryCountTest {
+
+    // Запрос страницы, count и догрузка меток
+    private static final long MAX_QUERIES_PER_PAGE = 3;
+    private static final int TASKS_COUNT = 1000;
+    private static final String EXISTING_LABELS_QUERY = "select l.id from Label l where l.id in :ids";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        taskRepository.deleteAll();
+
+        var statuses = new ArrayList<TaskStatus>();
+        for (int i = 0; i < 5; i++) {
+            statuses.add(TaskStatus.builder().name("Status " + i).slug("query_count_status_" + i).build());
+        }
+        taskStatusRepository.saveAll(statuses);
+
+        var users = new ArrayList<User>();
+        for (int i = 0; i < 10; i++) {
+            users.add(User.builder()
+                    .email("query-count-" + i + "@example.com")
+                    .firstName("Query")
+                    .lastName("Count")
+                    .passwordDigest("password")
+                    .build());
+        }
+        userRepository.saveAll(users);
+
+        var labels = new ArrayList<Label>();
+        for (int i = 0; i < 3; i++) {
+            labels.add(Label.builder().name("query-count-label-" + i).build());
+        }
+        labelRepository.saveAll(labels);
+
+        var tasks = new ArrayList<Task>();
+        for (int i = 0; i < TASKS_COUNT; i++) {
+            var task = Task.builder()
+                    .name("Task " + i)
+                    .index(i + 1)
+                    .taskStatus(statuses.get(i % statuses.size()))
+                    .assignee(users.get(i % users.size()))
+                    .build();
+            task.addLabel(labels.get(i % labels.size()));
+            task.addLabel(labels.get((i + 1) % labels.size()));
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+
+        // Сбрасываем контекст, чтобы связи действительно читались из базы
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest(name = "размер страницы {0}")
+    @ValueSource(ints = {10, 100, 1000})
+    @DisplayName("Список задач читается фиксированным числом запросов")
+    public void findAll_ShouldNotDependOnPageSize(int pageSize) {
+        var params = new TaskParamsDTO(null, null, null, null);
+        var pageable = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.ASC, "id"));
+
+        statistics.clear();
+        var page = taskService.findAll(pageable, params);
+        var queries = statistics.getPrepareStatementCount();
+
+        assertThat(page.taskDTOList()).hasSize(pageSize);
+        assertThat(page.taskDTOList()).allSatisfy(task -> {
+            assertThat(task.status()).isNotNull();
+            assertThat(task.assignee_id()).isNotNull();
+            assertThat(task.taskLabelIds()).hasSize(2);
+        });
+        assertThat(queries).isLessThanOrEqualTo(MAX_QUERIES_PER_PAGE);
+    }
+
+    @Test
+    @DisplayName("Получение задачи по id загружает связи одним запросом")
+    public void findById_ShouldLoadRelationsInOneQuery() {
+        List<Task> tasks = taskRepository.findAll(PageRequest.of(0, 1)).getContent();
+        var id = tasks.get(0).getId();
+        entityManager.clear();
+
+        statistics.clear();
+        var task = taskService.findById(id);
+
+        assertThat(task.taskLabelIds()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Метки новой задачи проверяются одним запросом независимо от их числа")
+    public void create_ShouldResolveLabelsInOneQuery() {
+        var labels = new ArrayList<Label>();
+        for (int i = 0; i < 20; i++) {
+            labels.add(Label.builder().name("batch-label-" + i).build());
+        }
+        labelRepository.saveAll(labels);
+        var labelIds = labels.stream().map(Label::getId).toList();
+        var assigneeId = userRepository.findByEmail("query-count-0@example.com").orElseThrow().getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.clear();
+        var task = taskService.create(new TaskCreateDTO("Labeled", 1, assigneeId, null,
+                "query_count_status_0", labelIds));
+
+        assertThat(task.taskLabelIds()).containsExactlyInAnyOrderElementsOf(labelIds);
+        assertThat(statistics.getQueryStatistics(EXISTING_LABELS_QUERY).getExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(Label.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Удаление задачи не загружает ни задачу, ни задачи исполнителя")
+    public void delete_ShouldNotLoadEntities() {
+        var id = taskRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        entityManager.clear();
+
+        statistics.clear();
+        taskService.delete(id);
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        // Внешние ключи, строки task_labels и сама задача
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(taskRepository.existsById(id)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Отказ в удалении исполнителя не загружает его задачи")
+    public void deleteAssignee_ShouldNotLoadTasks() {
+        var id = userRepository.findByEmail("query-count-0@example.com").orElseThrow().getId();
+        entityManager.clear();
+
+        statistics.clear();
+        assertThatThrownBy(() -> userService.delete(id)).isInstanceOf(ConflictException.class);
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+}